@@ -0,0 +1,86 @@
+package org.sncrwanda.gateway.cache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.sncrwanda.common.outbox.ChangeEvent;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.gateway.config.GatewayProperties;
+import org.springframework.stereotype.Component;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64; import java.util.List; import java.util.Objects; import java.util.UUID;
+/**
+ * Bounded in-memory copies of rarely changing GET listings, keyed by route, org and path+query.
+ * Entries expire after the configured TTL and are dropped early when a write for the same route and org
+ * goes through the gateway or a change event for it arrives.
+ */
+@Component
+public class ResponseCache {
+  public record Key(String route, String orgId, String pathAndQuery) {}
+  public record Entry(byte[] body, String contentType, String etag) {}
+
+  private final GatewayProperties.CacheSettings settings;
+  private final Cache<Key, Entry> entries;
+  public ResponseCache(GatewayProperties props, MeterRegistry meters){
+    this.settings = props.getCache();
+    this.entries = Caffeine.newBuilder().maximumSize(settings.getMaxEntries()).expireAfterWrite(settings.getTtl()).recordStats().build();
+    CaffeineCacheMetrics.monitor(meters, entries, "gateway.responses");
+  }
+
+  public boolean isCacheable(HttpServletRequest req){
+    return settings.isEnabled() && "GET".equals(req.getMethod()) && settings.getPaths().contains(req.getRequestURI());
+  }
+
+  public Key key(GatewayProperties.Route route, HttpServletRequest req){
+    String query = req.getQueryString();
+    return new Key(route.getId(), currentOrg(), req.getRequestURI() + (query == null ? "" : "?" + query));
+  }
+
+  public Entry get(Key key){ return entries.getIfPresent(key); }
+
+  /** Stores a 200 body unless it is over the size limit; returns the entry to serve either way. */
+  public Entry put(Key key, byte[] body, String contentType){
+    Entry e = new Entry(body, contentType, etag(body));
+    if (body.length <= settings.getMaxBodyBytes()) entries.put(key, e);
+    return e;
+  }
+
+  /** Drops every entry of {@code route} for {@code orgId}; a null org clears the route for all orgs. */
+  public void invalidate(String route, String orgId){
+    entries.asMap().keySet().removeIf(k -> k.route().equals(route) && (orgId == null || Objects.equals(k.orgId(), orgId)));
+  }
+
+  public void onEvents(List<ChangeEvent> events){
+    for (ChangeEvent e : events) {
+      String org = e.orgId() == null ? null : e.orgId().toString();
+      for (String route : settings.getInvalidateOn().getOrDefault(e.aggregateType(), List.of())) invalidate(route, org);
+    }
+  }
+
+  /** True when an {@code If-None-Match} header lists {@code etag} (weak comparison, as RFC 9110 requires for GET). */
+  public static boolean matches(String ifNoneMatch, String etag){
+    if (ifNoneMatch == null) return false;
+    for (String candidate : ifNoneMatch.split(",")) {
+      String c = candidate.trim();
+      if (c.equals("*") || c.replaceFirst("^W/", "").equals(etag)) return true;
+    }
+    return false;
+  }
+
+  /** The org resolved from the token or {@code X-Org-Id}, so a forged header cannot read another org's entries. */
+  public static String currentOrg(){
+    UUID org = TenantContext.current();
+    return org == null ? "" : org.toString();
+  }
+
+  static String etag(byte[] body){
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
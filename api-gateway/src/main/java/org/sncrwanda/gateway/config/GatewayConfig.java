@@ -0,0 +1,38 @@
+package org.sncrwanda.gateway.config;
+import org.sncrwanda.gateway.proxy.UpstreamProxy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+@Configuration @EnableConfigurationProperties(GatewayProperties.class)
+public class GatewayConfig {
+  /** One client for every route: its connection pool keeps upstream connections alive between requests. */
+  @Bean HttpClient upstreamClient(GatewayProperties props){
+    return HttpClient.newBuilder()
+      .version(props.getHttpVersion())
+      .connectTimeout(props.getConnectTimeout())
+      .followRedirects(HttpClient.Redirect.NEVER)
+      .executor(Executors.newVirtualThreadPerTaskExecutor())
+      .build();
+  }
+
+  /** Maps {@code <path>/**} of every configured route onto {@link UpstreamProxy#forward}. */
+  @Bean SmartInitializingSingleton gatewayRouteMappings(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping mapping,
+                                                        UpstreamProxy proxy, GatewayProperties props){
+    return () -> {
+      var forward = ReflectionUtils.findMethod(UpstreamProxy.class, "forward", HttpServletRequest.class, HttpServletResponse.class);
+      for (GatewayProperties.Route r : props.getRoutes()) {
+        var info = RequestMappingInfo.paths(r.getPath(), r.getPath() + "/**").options(mapping.getBuilderConfiguration()).build();
+        mapping.registerMapping(info, proxy, forward);
+      }
+    };
+  }
+}
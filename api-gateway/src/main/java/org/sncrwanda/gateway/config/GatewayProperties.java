@@ -0,0 +1,52 @@
+package org.sncrwanda.gateway.config;
+import lombok.Getter; import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.net.URI; import java.net.http.HttpClient; import java.time.Duration;
+import java.util.ArrayList; import java.util.HashMap; import java.util.HashSet; import java.util.List; import java.util.Map; import java.util.Set;
+@ConfigurationProperties("sncrwanda.gateway") @Getter @Setter
+public class GatewayProperties {
+  private Duration connectTimeout = Duration.ofSeconds(2);
+  /** HTTP/2 where the upstream offers it, otherwise the client falls back to HTTP/1.1 on the same pooled connections. */
+  private HttpClient.Version httpVersion = HttpClient.Version.HTTP_2;
+  private List<Route> routes = new ArrayList<>();
+  /** Upstream paths meant for the service network only, such as outbox subscriber feeds; answered with 404, never forwarded. */
+  private List<String> internalPaths = new ArrayList<>();
+  private CacheSettings cache = new CacheSettings();
+
+  @Getter @Setter
+  public static class Route {
+    private String id;
+    /** Path prefix, e.g. {@code /ledger}; requests are forwarded with their path unchanged. */
+    private String path;
+    private URI uri;
+    /** Time allowed until the upstream's response headers arrive; the body itself streams without a deadline. */
+    private Duration timeout = Duration.ofSeconds(30);
+  }
+
+  @Getter @Setter
+  public static class CacheSettings {
+    private boolean enabled = true;
+    private long maxEntries = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+    /** Larger 200 responses are passed through but not kept. */
+    private int maxBodyBytes = 1 << 20;
+    /** Exact request paths whose GET responses are cached, per org and query string. */
+    private Set<String> paths = new HashSet<>();
+    /** Change-event aggregate type to the ids of the routes whose entries it invalidates. */
+    private Map<String, List<String>> invalidateOn = new HashMap<>();
+  }
+
+  public boolean isInternal(String path){
+    return internalPaths.stream().anyMatch(p -> path.equals(p) || path.startsWith(p + "/"));
+  }
+
+  /** Longest configured prefix that matches {@code path} on a segment boundary, or null. */
+  public Route match(String path){
+    Route best = null;
+    for (Route r : routes) {
+      boolean hit = path.equals(r.getPath()) || path.startsWith(r.getPath() + "/");
+      if (hit && (best == null || r.getPath().length() > best.getPath().length())) best = r;
+    }
+    return best;
+  }
+}
@@ -0,0 +1,143 @@
+package org.sncrwanda.gateway.proxy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.sncrwanda.common.observability.Tracing;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.gateway.cache.ResponseCache;
+import org.sncrwanda.gateway.config.GatewayProperties;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+/**
+ * Forwards a request to its route's upstream and streams both bodies through without buffering.
+ * Requests run on virtual threads, so the blocking client call costs no platform thread while it waits.
+ */
+@Component
+public class UpstreamProxy {
+  /** Hop-by-hop headers plus those {@link HttpClient} manages itself and refuses to have set. */
+  static final Set<String> SKIPPED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+    "transfer-encoding", "upgrade", "host", "content-length", "expect", "http2-settings");
+  private final HttpClient client; private final GatewayProperties props; private final ResponseCache cache; private final MeterRegistry meters;
+  public UpstreamProxy(HttpClient client, GatewayProperties props, ResponseCache cache, MeterRegistry meters){
+    this.client=client; this.props=props; this.cache=cache; this.meters=meters;
+  }
+
+  public void forward(HttpServletRequest req, HttpServletResponse res) throws IOException, InterruptedException {
+    GatewayProperties.Route route = props.match(req.getRequestURI());
+    if (route == null || props.isInternal(req.getRequestURI())) { res.sendError(HttpServletResponse.SC_NOT_FOUND); return; }
+    long start = System.nanoTime();
+    String status = "CLIENT_ERROR", cached = "none";
+    try {
+      if (cache.isCacheable(req)) {
+        var key = cache.key(route, req);
+        ResponseCache.Entry entry = cache.get(key);
+        cached = entry == null ? "miss" : "hit";
+        if (entry == null) {
+          HttpResponse<byte[]> upstream = client.send(toUpstream(req, route), HttpResponse.BodyHandlers.ofByteArray());
+          status = String.valueOf(upstream.statusCode());
+          if (upstream.statusCode() != HttpServletResponse.SC_OK) {
+            copyHeaders(upstream, res);
+            res.getOutputStream().write(upstream.body());
+            return;
+          }
+          entry = cache.put(key, upstream.body(), upstream.headers().firstValue("content-type").orElse(null));
+        }
+        status = serve(entry, req, res);
+        return;
+      }
+      HttpResponse<InputStream> upstream = client.send(toUpstream(req, route), HttpResponse.BodyHandlers.ofInputStream());
+      status = String.valueOf(upstream.statusCode());
+      if (!"GET".equals(req.getMethod()) && !"HEAD".equals(req.getMethod()) && upstream.statusCode() < 300) {
+        cache.invalidate(route.getId(), ResponseCache.currentOrg());
+      }
+      copyHeaders(upstream, res);
+      try (InputStream body = upstream.body()) { body.transferTo(res.getOutputStream()); }
+    } catch (IOException e) {
+      if (status.equals("CLIENT_ERROR")) status = e instanceof HttpTimeoutException ? "TIMEOUT" : "UNAVAILABLE";
+      throw e;
+    } finally {
+      timer(route, req.getMethod(), status, cached).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  static String serve(ResponseCache.Entry entry, HttpServletRequest req, HttpServletResponse res) throws IOException {
+    res.setHeader("ETag", entry.etag());
+    // the browser keeps its copy but must revalidate, which the cache answers with a bodiless 304
+    res.setHeader("Cache-Control", "private, no-cache");
+    if (ResponseCache.matches(req.getHeader("If-None-Match"), entry.etag())) {
+      res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return "304";
+    }
+    res.setStatus(HttpServletResponse.SC_OK);
+    if (entry.contentType() != null) res.setContentType(entry.contentType());
+    res.setContentLength(entry.body().length);
+    res.getOutputStream().write(entry.body());
+    return "200";
+  }
+
+  static void copyHeaders(HttpResponse<?> upstream, HttpServletResponse res){
+    res.setStatus(upstream.statusCode());
+    upstream.headers().map().forEach((name, values) -> {
+      // the gateway's trace filter has already set X-Trace-Id on the response
+      if (SKIPPED_HEADERS.contains(name.toLowerCase()) || Tracing.TRACE_ID_HEADER.equalsIgnoreCase(name)) return;
+      values.forEach(v -> res.addHeader(name, v));
+    });
+    upstream.headers().firstValueAsLong("content-length").ifPresent(res::setContentLengthLong);
+  }
+
+  HttpRequest toUpstream(HttpServletRequest req, GatewayProperties.Route route){
+    String query = req.getQueryString();
+    URI target = URI.create(route.getUri().toString() + req.getRequestURI() + (query == null ? "" : "?" + query));
+    HttpRequest.Builder b = HttpRequest.newBuilder(target).timeout(route.getTimeout()).method(req.getMethod(), body(req));
+    for (String name : Collections.list(req.getHeaderNames())) {
+      if (SKIPPED_HEADERS.contains(name.toLowerCase())) continue;
+      for (String v : Collections.list(req.getHeaders(name))) b.header(name, v);
+    }
+    String forwardedFor = req.getHeader("X-Forwarded-For");
+    b.setHeader("X-Forwarded-For", forwardedFor == null ? req.getRemoteAddr() : forwardedFor + ", " + req.getRemoteAddr());
+    b.setHeader("X-Forwarded-Proto", req.getScheme());
+    if (req.getHeader("Host") != null) b.setHeader("X-Forwarded-Host", req.getHeader("Host"));
+    // upstreams see the org the gateway resolved, which is the one its cache entries are keyed by
+    if (TenantContext.current() != null) b.setHeader(TenantContext.HEADER, TenantContext.current().toString());
+    // the trace the gateway adopted or started, with a fresh span for this hop
+    String traceId = Tracing.current();
+    if (traceId != null) {
+      b.setHeader(Tracing.TRACE_ID_HEADER, traceId);
+      String traceparent = Tracing.traceparent(traceId);
+      if (traceparent != null) b.setHeader(Tracing.TRACEPARENT, traceparent);
+    }
+    return b.build();
+  }
+
+  static HttpRequest.BodyPublisher body(HttpServletRequest req){
+    long length = req.getContentLengthLong();
+    boolean chunked = "chunked".equalsIgnoreCase(req.getHeader("Transfer-Encoding"));
+    if (length <= 0 && !chunked) return HttpRequest.BodyPublishers.noBody();
+    var stream = HttpRequest.BodyPublishers.ofInputStream(() -> {
+      try { return req.getInputStream(); } catch (IOException e) { throw new UncheckedIOException(e); }
+    });
+    return length > 0 ? HttpRequest.BodyPublishers.fromPublisher(stream, length) : stream;
+  }
+
+  Timer timer(GatewayProperties.Route route, String method, String status, String cached){
+    return Timer.builder("gateway.route.requests")
+      .description("Time from receiving a request to the end of the proxied response body")
+      .tags("route", route.getId(), "method", method, "status", status, "cache", cached)
+      .publishPercentileHistogram()
+      .minimumExpectedValue(Duration.ofMillis(1))
+      .maximumExpectedValue(route.getTimeout())
+      .register(meters);
+  }
+}
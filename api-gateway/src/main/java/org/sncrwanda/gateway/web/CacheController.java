@@ -0,0 +1,21 @@
+package org.sncrwanda.gateway.web;
+import org.sncrwanda.common.outbox.ChangeEvent;
+import org.sncrwanda.common.outbox.DeliveryToken;
+import org.sncrwanda.gateway.cache.ResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+/** Subscriber endpoint for the services' outbox relays; evicts cached listings the events make stale. Only relays may post. */
+@RestController @RequestMapping("/gateway/cache")
+public class CacheController {
+  private final ResponseCache cache; private final String token;
+  public CacheController(ResponseCache cache, @Value("${sncrwanda.outbox.delivery-token:}") String token){this.cache=cache; this.token=token;}
+  @PostMapping("/events") public ResponseEntity<Void> onEvents(@RequestHeader(value=DeliveryToken.HEADER, required=false) String presented,
+                                                               @RequestBody List<ChangeEvent> events){
+    if (!DeliveryToken.matches(token, presented)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    cache.onEvents(events);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -4,6 +4,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
 import java.time.Instant;
 import java.util.stream.Collectors;
 @RestControllerAdvice
@@ -17,6 +19,16 @@ public class GlobalExceptionHandler {
       .collect(Collectors.toList());
     return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"VALIDATION_ERROR","Invalid fields",details);
   }
+  @ExceptionHandler(HttpTimeoutException.class)
+  @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+  public ErrorResponse handleUpstreamTimeout(HttpTimeoutException ex, HttpServletRequest req) {
+    return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"UPSTREAM_TIMEOUT","Upstream service did not answer in time",null);
+  }
+  @ExceptionHandler(IOException.class)
+  @ResponseStatus(HttpStatus.BAD_GATEWAY)
+  public ErrorResponse handleUpstreamIo(IOException ex, HttpServletRequest req) {
+    return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"UPSTREAM_UNAVAILABLE","Upstream service unavailable",null);
+  }
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ErrorResponse handleAny(Exception ex, HttpServletRequest req) {
@@ -0,0 +1,17 @@
+package org.sncrwanda.auth.config;
+import lombok.Getter; import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import java.time.Duration; import java.util.UUID;
+@ConfigurationProperties("sncrwanda.auth") @Getter @Setter
+public class AuthProperties {
+  private String issuer = "sncrwanda-auth";
+  private Duration accessTokenTtl = Duration.ofMinutes(15);
+  private Duration refreshTokenTtl = Duration.ofDays(30);
+  /** BCrypt log2 rounds; each +1 doubles login CPU cost. */
+  private int bcryptStrength = 10;
+  /** Org that self-registered accounts join; moving a user to another org is an administrative change. */
+  private UUID defaultOrg = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  /** PKCS#8 PEM RSA private key. When unset a key is generated at startup, so tokens do not survive a restart. */
+  private Resource signingKey;
+}
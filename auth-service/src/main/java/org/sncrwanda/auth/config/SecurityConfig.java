@@ -0,0 +1,10 @@
+package org.sncrwanda.auth.config;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+@Configuration @EnableConfigurationProperties(AuthProperties.class)
+public class SecurityConfig {
+  @Bean PasswordEncoder passwordEncoder(AuthProperties props){ return new BCryptPasswordEncoder(props.getBcryptStrength()); }
+}
@@ -0,0 +1,17 @@
+package org.sncrwanda.auth.domain;
+import jakarta.persistence.*; import lombok.Getter; import lombok.Setter;
+import java.time.Instant; import java.util.UUID;
+/**
+ * One issued refresh token; only its SHA-256 is stored. Every refresh revokes the presented token and issues a
+ * successor in the same family, so presenting a revoked token means it leaked and the whole family is revoked.
+ */
+@Entity @Table(name="refresh_tokens") @Getter @Setter
+public class RefreshToken {
+  @Id @GeneratedValue private UUID id;
+  @Column(nullable=false) private UUID userId;
+  @Column(nullable=false) private UUID familyId;
+  @Column(nullable=false, unique=true) private String tokenHash;
+  @Column(nullable=false) private Instant expiresAt;
+  private Instant revokedAt;
+  private UUID replacedBy;
+}
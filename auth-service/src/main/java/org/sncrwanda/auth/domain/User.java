@@ -0,0 +1,15 @@
+package org.sncrwanda.auth.domain;
+import jakarta.persistence.*; import lombok.Getter; import lombok.Setter;
+import java.time.Instant; import java.util.UUID;
+@Entity @Table(name="users") @Getter @Setter
+public class User {
+  @Id @GeneratedValue private UUID id;
+  @Column(nullable=false, unique=true) private String email;
+  @Column(nullable=false) private String passwordHash;
+  private String fullName;
+  /** Comma-separated role names, copied into the access token's {@code roles} claim. */
+  @Column(nullable=false) private String roles = "USER";
+  @Column(nullable=false) private boolean active = true;
+  @Column(nullable=false) private UUID orgId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  @Column(nullable=false) private Instant createdAt = Instant.now();
+}
@@ -0,0 +1,16 @@
+package org.sncrwanda.auth.repo;
+import jakarta.persistence.LockModeType;
+import org.sncrwanda.auth.domain.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant; import java.util.Optional; import java.util.UUID;
+public interface RefreshTokenRepo extends JpaRepository<RefreshToken, UUID> {
+  /** Row lock so two concurrent refreshes with the same token cannot both rotate it. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+  @Modifying @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+  int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+}
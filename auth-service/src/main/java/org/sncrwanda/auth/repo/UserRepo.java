@@ -0,0 +1,8 @@
+package org.sncrwanda.auth.repo;
+import org.sncrwanda.auth.domain.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Optional; import java.util.UUID;
+public interface UserRepo extends JpaRepository<User, UUID> {
+  Optional<User> findByEmailIgnoreCase(String email);
+  boolean existsByEmailIgnoreCase(String email);
+}
@@ -0,0 +1,10 @@
+package org.sncrwanda.auth.service;
+import org.springframework.http.HttpStatus;
+public class AuthException extends RuntimeException {
+  private final HttpStatus status; private final String code;
+  public AuthException(HttpStatus status, String code, String message){ super(message); this.status=status; this.code=code; }
+  public HttpStatus getStatus(){ return status; }
+  public String getCode(){ return code; }
+  public static AuthException invalidCredentials(){ return new AuthException(HttpStatus.UNAUTHORIZED, "INVALID_CREDENTIALS", "Invalid email or password"); }
+  public static AuthException invalidRefreshToken(){ return new AuthException(HttpStatus.UNAUTHORIZED, "INVALID_REFRESH_TOKEN", "Refresh token is invalid or expired"); }
+}
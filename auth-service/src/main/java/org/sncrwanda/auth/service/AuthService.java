@@ -0,0 +1,88 @@
+package org.sncrwanda.auth.service;
+import org.sncrwanda.auth.config.AuthProperties;
+import org.sncrwanda.auth.domain.RefreshToken;
+import org.sncrwanda.auth.domain.User;
+import org.sncrwanda.auth.repo.RefreshTokenRepo;
+import org.sncrwanda.auth.repo.UserRepo;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64; import java.util.HexFormat; import java.util.UUID;
+@Service
+public class AuthService {
+  public record Tokens(String accessToken, String refreshToken, long expiresIn) {}
+  private static final SecureRandom RANDOM = new SecureRandom();
+  private final UserRepo users; private final RefreshTokenRepo refreshTokens; private final PasswordEncoder passwords;
+  private final TokenIssuer issuer; private final AuthProperties props;
+  /** Compared against when the email is unknown, so both failure paths cost one hash check. */
+  private final String dummyHash;
+  public AuthService(UserRepo users, RefreshTokenRepo refreshTokens, PasswordEncoder passwords, TokenIssuer issuer, AuthProperties props){
+    this.users=users; this.refreshTokens=refreshTokens; this.passwords=passwords; this.issuer=issuer; this.props=props;
+    this.dummyHash = passwords.encode(UUID.randomUUID().toString());
+  }
+
+  @Transactional
+  public User register(String email, String password, String fullName){
+    if (email == null || email.isBlank() || password == null || password.length() < 8)
+      throw new AuthException(HttpStatus.BAD_REQUEST, "INVALID_REGISTRATION", "Email and a password of at least 8 characters are required");
+    if (users.existsByEmailIgnoreCase(email)) throw new AuthException(HttpStatus.CONFLICT, "EMAIL_TAKEN", "Email already registered");
+    User u = new User();
+    u.setEmail(email.trim().toLowerCase()); u.setPasswordHash(passwords.encode(password)); u.setFullName(fullName);
+    u.setOrgId(props.getDefaultOrg());
+    return users.save(u);
+  }
+
+  @Transactional
+  public Tokens login(String email, String password){
+    User u = email == null ? null : users.findByEmailIgnoreCase(email.trim()).orElse(null);
+    boolean ok = passwords.matches(password == null ? "" : password, u == null ? dummyHash : u.getPasswordHash());
+    if (u == null || !ok || !u.isActive()) throw AuthException.invalidCredentials();
+    return issue(u, UUID.randomUUID(), Instant.now()).tokens();
+  }
+
+  /** Rotates {@code presented}: it is revoked and replaced, and reusing a revoked token revokes its whole family. */
+  @Transactional(noRollbackFor=AuthException.class)
+  public Tokens refresh(String presented){
+    if (presented == null || presented.isBlank()) throw AuthException.invalidRefreshToken();
+    Instant now = Instant.now();
+    RefreshToken current = refreshTokens.findByTokenHash(hash(presented)).orElseThrow(AuthException::invalidRefreshToken);
+    if (current.getRevokedAt() != null) {
+      refreshTokens.revokeFamily(current.getFamilyId(), now);
+      throw AuthException.invalidRefreshToken();
+    }
+    if (current.getExpiresAt().isBefore(now)) throw AuthException.invalidRefreshToken();
+    User u = users.findById(current.getUserId()).filter(User::isActive).orElseThrow(AuthException::invalidRefreshToken);
+    Issued next = issue(u, current.getFamilyId(), now);
+    current.setRevokedAt(now); current.setReplacedBy(next.refreshTokenId());
+    return next.tokens();
+  }
+
+  @Transactional
+  public void logout(String presented){
+    if (presented == null) return;
+    refreshTokens.findByTokenHash(hash(presented)).ifPresent(t -> refreshTokens.revokeFamily(t.getFamilyId(), Instant.now()));
+  }
+
+  private record Issued(Tokens tokens, UUID refreshTokenId) {}
+
+  private Issued issue(User u, UUID familyId, Instant now){
+    byte[] raw = new byte[32];
+    RANDOM.nextBytes(raw);
+    String refresh = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    RefreshToken t = new RefreshToken();
+    t.setUserId(u.getId()); t.setFamilyId(familyId); t.setTokenHash(hash(refresh)); t.setExpiresAt(now.plus(props.getRefreshTokenTtl()));
+    refreshTokens.save(t);
+    return new Issued(new Tokens(issuer.accessToken(u, now), refresh, props.getAccessTokenTtl().toSeconds()), t.getId());
+  }
+
+  static String hash(String token){
+    try { return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8))); }
+    catch (NoSuchAlgorithmException e) { throw new IllegalStateException(e); }
+  }
+}
@@ -0,0 +1,68 @@
+package org.sncrwanda.auth.service;
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.slf4j.Logger; import org.slf4j.LoggerFactory;
+import org.sncrwanda.auth.config.AuthProperties;
+import org.sncrwanda.auth.domain.User;
+import org.sncrwanda.common.security.JwtVerifier;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Instant;
+import java.util.*;
+/** Signs RS256 access tokens and publishes the matching public key as a JWKS. */
+@Component
+public class TokenIssuer {
+  private static final Logger log = LoggerFactory.getLogger(TokenIssuer.class);
+  private final AuthProperties props; private final RSAKey jwk; private final JWSSigner signer;
+  public TokenIssuer(AuthProperties props) throws GeneralSecurityException, IOException, JOSEException {
+    this.props = props;
+    KeyPair pair = props.getSigningKey() != null ? load(props) : generate();
+    RSAKey pub = new RSAKey.Builder((RSAPublicKey) pair.getPublic()).keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.RS256).build();
+    this.jwk = new RSAKey.Builder(pub).privateKey(pair.getPrivate()).keyID(pub.computeThumbprint().toString()).build();
+    this.signer = new RSASSASigner(jwk);
+  }
+
+  public String accessToken(User user, Instant now){
+    var claims = new JWTClaimsSet.Builder()
+      .issuer(props.getIssuer()).subject(user.getId().toString()).jwtID(UUID.randomUUID().toString())
+      .issueTime(Date.from(now)).expirationTime(Date.from(now.plus(props.getAccessTokenTtl())))
+      .claim(JwtVerifier.EMAIL_CLAIM, user.getEmail())
+      .claim(JwtVerifier.ORG_CLAIM, user.getOrgId().toString())
+      .claim(JwtVerifier.ROLES_CLAIM, Arrays.stream(user.getRoles().split(",")).map(String::trim).filter(r -> !r.isEmpty()).toList())
+      .build();
+    var jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(jwk.getKeyID()).type(JOSEObjectType.JWT).build(), claims);
+    try { jwt.sign(signer); } catch (JOSEException e) { throw new IllegalStateException("Could not sign access token", e); }
+    return jwt.serialize();
+  }
+
+  public Map<String, Object> publicJwks(){ return new JWKSet(jwk.toPublicJWK()).toJSONObject(); }
+
+  static KeyPair generate() throws NoSuchAlgorithmException {
+    log.warn("No sncrwanda.auth.signing-key configured; using an ephemeral RSA key (tokens are invalidated on restart)");
+    KeyPairGenerator gen = KeyPairGenerator.getInstance("RSA");
+    gen.initialize(2048);
+    return gen.generateKeyPair();
+  }
+
+  static KeyPair load(AuthProperties props) throws IOException, GeneralSecurityException {
+    String pem;
+    try (InputStream in = props.getSigningKey().getInputStream()) { pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII); }
+    String base64 = pem.replaceAll("-----(BEGIN|END) PRIVATE KEY-----", "").replaceAll("\\s", "");
+    KeyFactory rsa = KeyFactory.getInstance("RSA");
+    var priv = (RSAPrivateCrtKey) rsa.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64)));
+    PublicKey pub = rsa.generatePublic(new RSAPublicKeySpec(priv.getModulus(), priv.getPublicExponent()));
+    return new KeyPair(pub, priv);
+  }
+}
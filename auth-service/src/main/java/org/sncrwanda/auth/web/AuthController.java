@@ -1,12 +1,35 @@
 package org.sncrwanda.auth.web;
+import org.sncrwanda.auth.service.AuthService;
+import org.sncrwanda.auth.service.TokenIssuer;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.Duration; import java.util.Map; import java.util.UUID;
 record LoginRequest(String email, String password) {}
-record TokenResponse(String accessToken, String refreshToken) {}
+record RegisterRequest(String email, String password, String fullName) {}
+record RefreshRequest(String refreshToken) {}
+record TokenResponse(String accessToken, String refreshToken, String tokenType, long expiresIn) {}
+record UserResponse(UUID id, String email, String fullName, UUID orgId) {}
 @RestController @RequestMapping("/auth")
 public class AuthController {
+  private final AuthService auth; private final TokenIssuer issuer;
+  public AuthController(AuthService auth, TokenIssuer issuer){this.auth=auth; this.issuer=issuer;}
+  /** Self-service sign-up; the account joins {@code sncrwanda.auth.default-org}, never an org the caller names. */
+  @PostMapping("/register")
+  public ResponseEntity<UserResponse> register(@RequestBody RegisterRequest req){
+    var u = auth.register(req.email(), req.password(), req.fullName());
+    return ResponseEntity.ok(new UserResponse(u.getId(), u.getEmail(), u.getFullName(), u.getOrgId()));
+  }
   @PostMapping("/login")
-  public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest req){
-    return ResponseEntity.ok(new TokenResponse("dev-access-token", "dev-refresh-token"));
+  public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest req){ return ResponseEntity.ok(toResponse(auth.login(req.email(), req.password()))); }
+  @PostMapping("/refresh")
+  public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshRequest req){ return ResponseEntity.ok(toResponse(auth.refresh(req.refreshToken()))); }
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(@RequestBody RefreshRequest req){ auth.logout(req.refreshToken()); return ResponseEntity.noContent().build(); }
+  /** Public signing keys; services cache this and verify tokens without calling back. */
+  @GetMapping("/.well-known/jwks.json")
+  public ResponseEntity<Map<String, Object>> jwks(){
+    return ResponseEntity.ok().cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic()).body(issuer.publicJwks());
   }
+  private static TokenResponse toResponse(AuthService.Tokens t){ return new TokenResponse(t.accessToken(), t.refreshToken(), "Bearer", t.expiresIn()); }
 }
@@ -1,7 +1,9 @@
 package org.sncrwanda.auth.web;
+import org.sncrwanda.auth.service.AuthException;
 import org.sncrwanda.common.api.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import java.time.Instant;
@@ -17,6 +19,11 @@ public class GlobalExceptionHandler {
       .collect(Collectors.toList());
     return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"VALIDATION_ERROR","Invalid fields",details);
   }
+  @ExceptionHandler(AuthException.class)
+  public ResponseEntity<ErrorResponse> handleAuth(AuthException ex, HttpServletRequest req) {
+    return ResponseEntity.status(ex.getStatus())
+      .body(new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(), ex.getCode(), ex.getMessage(), null));
+  }
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ErrorResponse handleAny(Exception ex, HttpServletRequest req) {
@@ -0,0 +1,2 @@
+-- Auth schema as Hibernate created it before migrations existed; such databases are baselined at this version.
+-- The auth service kept no tables of its own before migrations existed, so there is nothing to create here.
@@ -0,0 +1,25 @@
+-- Accounts and rotating refresh tokens for token issuance.
+
+-- older deployments may still have a users table from before the service was rewritten
+create table if not exists users (
+    id            uuid                        not null,
+    email         varchar(255)                not null unique,
+    password_hash varchar(255)                not null,
+    full_name     varchar(255),
+    roles         varchar(255)                not null,
+    active        boolean                     not null,
+    org_id        uuid                        not null,
+    created_at    timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create table refresh_tokens (
+    id          uuid                        not null,
+    user_id     uuid                        not null,
+    family_id   uuid                        not null,
+    token_hash  varchar(255)                not null unique,
+    expires_at  timestamp(6) with time zone not null,
+    revoked_at  timestamp(6) with time zone,
+    replaced_by uuid,
+    primary key (id)
+);
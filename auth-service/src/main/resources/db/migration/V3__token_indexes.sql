@@ -0,0 +1,2 @@
+-- reusing a rotated token revokes its whole family
+create index if not exists refresh_tokens_family_idx on refresh_tokens (family_id);
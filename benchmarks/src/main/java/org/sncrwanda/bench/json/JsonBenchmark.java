@@ -0,0 +1,70 @@
+package org.sncrwanda.bench.json;
+import com.fasterxml.jackson.databind.ObjectMapper; import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter; import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.sncrwanda.common.api.ErrorResponse;
+import org.sncrwanda.ledger.domain.Transaction;
+import org.sncrwanda.student.domain.Guardian; import org.sncrwanda.student.domain.Need; import org.sncrwanda.student.domain.Student;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant; import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+/**
+ * Request and response bodies of the hottest endpoints, through a mapper configured the way Spring Boot
+ * configures the services' one. Readers and writers are resolved once, as the message converters do.
+ */
+@State(Scope.Benchmark) @BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=3, time=2) @Measurement(iterations=5, time=2) @Fork(2)
+public class JsonBenchmark {
+  private ObjectWriter transactionWriter, studentWriter, errorWriter;
+  private ObjectReader transactionReader, studentReader;
+  private Transaction transaction; private Student student; private ErrorResponse error;
+  private byte[] transactionJson, studentJson;
+
+  @Setup public void setup() throws IOException {
+    ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    transactionWriter = mapper.writerFor(Transaction.class); transactionReader = mapper.readerFor(Transaction.class);
+    studentWriter = mapper.writerFor(Student.class); studentReader = mapper.readerFor(Student.class);
+    errorWriter = mapper.writerFor(ErrorResponse.class);
+
+    transaction = new Transaction();
+    transaction.setId(UUID.randomUUID());
+    transaction.setType(Transaction.TxType.EXPENSE);
+    transaction.setCategory("school-supplies");
+    transaction.setName("Term 3 supplies");
+    transaction.setMaterials(Set.of("exercise books", "pencils", "braille paper"));
+    transaction.setAmount(new BigDecimal("125000.00"));
+    transaction.setTxDate(LocalDate.of(2026, 9, 14));
+    transaction.setNotes("Delivered to the Kigali centre");
+    transaction.setOrgId(UUID.randomUUID());
+
+    Guardian guardian = new Guardian();
+    guardian.setId(UUID.randomUUID());
+    guardian.setFullName("Uwimana Claudine");
+    guardian.setPhone("+250788000000");
+    guardian.setAddress("Kicukiro, Kigali");
+    student = new Student();
+    student.setId(UUID.randomUUID());
+    student.setGuardian(guardian);
+    student.setChildName("Mugisha Eric");
+    student.setChildDob(LocalDate.of(2015, 3, 2));
+    student.setAddress("Kicukiro, Kigali");
+    student.setHobbies("football, drawing");
+    student.setNeeds(EnumSet.of(Need.HEARING, Need.SPEECH_LANGUAGE));
+
+    error = new ErrorResponse(Instant.now(), "4bf92f3577b34da6a3ce929d0e0e4736", "/ledger/transactions", "VALIDATION_ERROR",
+      "Invalid fields", List.of(new ErrorResponse.FieldError("amount", "must be greater than 0"),
+        new ErrorResponse.FieldError("category", "must not be blank")));
+
+    transactionJson = transactionWriter.writeValueAsBytes(transaction);
+    studentJson = studentWriter.writeValueAsBytes(student);
+  }
+
+  @Benchmark public byte[] serializeTransaction() throws IOException { return transactionWriter.writeValueAsBytes(transaction); }
+  @Benchmark public Transaction deserializeTransaction() throws IOException { return transactionReader.readValue(transactionJson); }
+  @Benchmark public byte[] serializeStudent() throws IOException { return studentWriter.writeValueAsBytes(student); }
+  @Benchmark public Student deserializeStudent() throws IOException { return studentReader.readValue(studentJson); }
+  @Benchmark public byte[] serializeErrorResponse() throws IOException { return errorWriter.writeValueAsBytes(error); }
+}
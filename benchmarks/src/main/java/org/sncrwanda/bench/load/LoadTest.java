@@ -0,0 +1,220 @@
+package org.sncrwanda.bench.load;
+import org.HdrHistogram.Histogram;
+import org.sncrwanda.hr.HrApplication;
+import org.sncrwanda.ledger.LedgerApplication;
+import org.sncrwanda.student.StudentApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient; import java.net.http.HttpRequest; import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function; import java.util.function.Supplier;
+import java.util.regex.Matcher; import java.util.regex.Pattern;
+/**
+ * Boots each service in-process against an in-memory H2 database in PostgreSQL mode and drives its create and
+ * list endpoints over HTTP with a fixed number of concurrent clients, reporting throughput and p50/p99 latency.
+ * <p>
+ * Usage: {@code LoadTest <ledger|hr|students|all> [duration=20s] [clients=32] [warmup=5s] [seed=1000]}.
+ * Each service is seeded with {@code seed} rows first, so list results are comparable between runs, and list
+ * scenarios run before create scenarios grow the tables. Clients are closed-loop: a slow response delays that
+ * client's next request, so the percentiles describe service time under this load rather than an open arrival rate.
+ */
+public final class LoadTest {
+  static final String ORG = "00000000-0000-0000-0000-000000000001";
+  static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+  private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+  private static final String[] CATEGORIES = {"food", "transport", "school-supplies", "salaries", "donations", "utilities"};
+  private static final String[] TYPES = {"INCOME", "EXPENSE"};
+
+  record Scenario(String name, Supplier<HttpRequest> request, int expectedStatus) {}
+
+  record Result(String service, String scenario, Histogram latencies, long errors, Duration elapsed) {
+    double throughput(){ return latencies.getTotalCount() / (elapsed.toNanos() / 1e9); }
+    String line(){
+      return String.format(Locale.ROOT, "%-9s %-16s %9d req %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  errors %d",
+        service, scenario, latencies.getTotalCount(), throughput(), millis(latencies.getValueAtPercentile(50)),
+        millis(latencies.getValueAtPercentile(99)), millis(latencies.getMaxValue()), errors);
+    }
+    private static double millis(long nanos){ return nanos / 1e6; }
+  }
+
+  enum Service {
+    LEDGER(LedgerApplication.class, "bench-ledger", LoadTest::ledgerScenarios),
+    HR(HrApplication.class, "bench-hr", LoadTest::hrScenarios),
+    STUDENTS(StudentApplication.class, "bench-students", LoadTest::studentScenarios);
+
+    final Class<?> application; final String configName;
+    /** Returns the seeding scenario first, then the measured ones in run order. */
+    final Function<Target, List<Scenario>> scenarios;
+    Service(Class<?> application, String configName, Function<Target, List<Scenario>> scenarios){
+      this.application=application; this.configName=configName; this.scenarios=scenarios;
+    }
+  }
+
+  record Target(HttpClient client, URI base) {
+    HttpRequest.Builder request(String path){
+      return HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(30))
+        .header("X-Org-Id", ORG).header("Accept", "application/json");
+    }
+    HttpRequest get(String path){ return request(path).GET().build(); }
+    HttpRequest post(String path, String json){
+      return request(path).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+  }
+
+  private LoadTest(){}
+
+  public static void main(String[] args) throws Exception {
+    String which = args.length > 0 ? args[0] : "all";
+    Duration duration = args.length > 1 ? DurationStyle.detectAndParse(args[1]) : Duration.ofSeconds(20);
+    int clients = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+    Duration warmup = args.length > 3 ? DurationStyle.detectAndParse(args[3]) : Duration.ofSeconds(5);
+    int seed = args.length > 4 ? Integer.parseInt(args[4]) : 1000;
+
+    List<Service> services = "all".equalsIgnoreCase(which) ? List.of(Service.values()) : List.of(Service.valueOf(which.toUpperCase(Locale.ROOT)));
+    List<Result> results = new ArrayList<>();
+    HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .executor(Executors.newVirtualThreadPerTaskExecutor())
+      .connectTimeout(Duration.ofSeconds(2))
+      .build();
+    for (Service service : services) {
+      try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(service.application)
+             .properties("spring.config.name=" + service.configName, "server.port=0").run()) {
+        URI base = URI.create("http://localhost:" + ctx.getEnvironment().getProperty("local.server.port") + "/");
+        List<Scenario> scenarios = service.scenarios.apply(new Target(client, base));
+        seed(client, scenarios.get(0), seed);
+        for (Scenario scenario : scenarios.subList(1, scenarios.size())) {
+          run(client, scenario, clients, warmup);
+          Result r = measure(service.name().toLowerCase(Locale.ROOT), client, scenario, clients, duration);
+          System.out.println(r.line());
+          results.add(r);
+        }
+      }
+    }
+    System.out.println();
+    System.out.printf(Locale.ROOT, "%d clients, %s per scenario after %s warmup, %d seeded rows%n", clients, duration, warmup, seed);
+    results.forEach(r -> System.out.println(r.line()));
+  }
+
+  static List<Scenario> ledgerScenarios(Target t){
+    Scenario create = new Scenario("create", () -> t.post("ledger/transactions", transactionJson()), 200);
+    return List.of(create,
+      new Scenario("list", () -> t.get("ledger/transactions?size=50"), 200),
+      new Scenario("list-filtered", () -> t.get("ledger/transactions?type=EXPENSE&category=food&size=50"), 200),
+      create);
+  }
+
+  static List<Scenario> hrScenarios(Target t){
+    Scenario create = new Scenario("create", () -> t.post("hr/employees", employeeJson()), 200);
+    return List.of(create, new Scenario("list", () -> t.get("hr/employees"), 200), create);
+  }
+
+  static List<Scenario> studentScenarios(Target t){
+    String guardianId = createGuardian(t);
+    Scenario create = new Scenario("create", () -> t.post("students", studentJson(guardianId)), 200);
+    return List.of(create,
+      new Scenario("list", () -> t.get("students"), 200),
+      new Scenario("search", () -> t.get("students/search?need=HEARING&size=50"), 200),
+      create);
+  }
+
+  static void seed(HttpClient client, Scenario create, int rows) throws IOException, InterruptedException {
+    for (int i = 0; i < rows; i++) {
+      HttpResponse<Void> res = client.send(create.request().get(), HttpResponse.BodyHandlers.discarding());
+      if (res.statusCode() != create.expectedStatus()) throw new IllegalStateException("Seeding failed with HTTP " + res.statusCode());
+    }
+  }
+
+  static Result measure(String service, HttpClient client, Scenario scenario, int clients, Duration length) throws Exception {
+    long start = System.nanoTime();
+    List<Worker> workers = run(client, scenario, clients, length);
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    Histogram merged = new Histogram(MAX_LATENCY_NANOS, 3);
+    long errors = 0;
+    for (Worker w : workers) { merged.add(w.latencies); errors += w.errors; }
+    return new Result(service, scenario.name(), merged, errors, elapsed);
+  }
+
+  static List<Worker> run(HttpClient client, Scenario scenario, int clients, Duration length) throws Exception {
+    long deadline = System.nanoTime() + length.toNanos();
+    List<Worker> workers = new ArrayList<>(clients);
+    try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> running = new ArrayList<>(clients);
+      for (int i = 0; i < clients; i++) {
+        Worker w = new Worker(client, scenario, deadline);
+        workers.add(w);
+        running.add(pool.submit(w));
+      }
+      for (Future<?> f : running) f.get();
+    }
+    return workers;
+  }
+
+  /** One closed-loop client with its own histogram, merged after the run so recording needs no synchronisation. */
+  static final class Worker implements Runnable {
+    final Histogram latencies = new Histogram(MAX_LATENCY_NANOS, 3);
+    long errors;
+    private final HttpClient client; private final Scenario scenario; private final long deadline;
+    Worker(HttpClient client, Scenario scenario, long deadline){this.client=client; this.scenario=scenario; this.deadline=deadline;}
+
+    @Override public void run(){
+      while (System.nanoTime() < deadline) {
+        HttpRequest request = scenario.request().get();
+        long start = System.nanoTime();
+        try {
+          HttpResponse<Void> res = client.send(request, HttpResponse.BodyHandlers.discarding());
+          if (res.statusCode() != scenario.expectedStatus()) errors++;
+        } catch (IOException e) {
+          errors++;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        latencies.recordValue(Math.min(System.nanoTime() - start, MAX_LATENCY_NANOS));
+      }
+    }
+  }
+
+  static String createGuardian(Target t){
+    try {
+      String body = t.client().send(t.post("students/guardians",
+          "{\"fullName\":\"Bench Guardian\",\"phone\":\"+250788000000\",\"address\":\"Kigali\"}"),
+        HttpResponse.BodyHandlers.ofString()).body();
+      Matcher m = ID.matcher(body);
+      if (!m.find()) throw new IllegalStateException("No guardian id in " + body);
+      return m.group(1);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not create the bench guardian", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static String transactionJson(){
+    ThreadLocalRandom r = ThreadLocalRandom.current();
+    return String.format(Locale.ROOT,
+      "{\"type\":\"%s\",\"category\":\"%s\",\"name\":\"bench\",\"materials\":[\"item-%d\"],\"amount\":%d.00,\"txDate\":\"2026-%02d-%02d\"}",
+      TYPES[r.nextInt(TYPES.length)], CATEGORIES[r.nextInt(CATEGORIES.length)], r.nextInt(100), 1 + r.nextInt(500_000),
+      1 + r.nextInt(12), 1 + r.nextInt(28));
+  }
+
+  static String employeeJson(){
+    ThreadLocalRandom r = ThreadLocalRandom.current();
+    return String.format(Locale.ROOT,
+      "{\"fullName\":\"Employee %d\",\"dob\":\"1990-01-15\",\"address\":\"Kigali\",\"position\":\"Teacher\",\"salary\":%d.00}",
+      r.nextInt(1_000_000), 200_000 + r.nextInt(300_000));
+  }
+
+  static String studentJson(String guardianId){
+    ThreadLocalRandom r = ThreadLocalRandom.current();
+    return String.format(Locale.ROOT,
+      "{\"guardian\":{\"id\":\"%s\"},\"childName\":\"Child %d\",\"childDob\":\"2016-05-04\",\"address\":\"Kigali\",\"needs\":[\"%s\"]}",
+      guardianId, r.nextInt(1_000_000), r.nextBoolean() ? "HEARING" : "VISUAL");
+  }
+}
@@ -0,0 +1,23 @@
+-- the balance tables of ledger-service db/migration/V4__balances.sql, without the backfill
+create table if not exists balances (
+    org_id   uuid           not null,
+    category varchar(255)   not null,
+    balance  numeric(38, 2) not null,
+    tx_count bigint         not null,
+    primary key (org_id, category)
+);
+create table if not exists balance_periods (
+    org_id       uuid           not null,
+    category     varchar(255)   not null,
+    period_start date           not null,
+    net          numeric(38, 2) not null,
+    tx_count     bigint         not null,
+    primary key (org_id, category, period_start)
+);
+create table if not exists balance_snapshots (
+    org_id       uuid           not null,
+    category     varchar(255)   not null,
+    period_start date           not null,
+    closing      numeric(38, 2) not null,
+    primary key (org_id, category, period_start)
+);
@@ -0,0 +1,59 @@
+-- Migration: Hash-partition ledger.transactions by org_id (optional)
+-- Date: 2026-10-17
+-- Purpose: Every ledger query is scoped to one org (Hibernate @TenantId), so partitioning on org_id lets
+--          Postgres prune to a single partition and keeps each org's indexes small. Only worth running once
+--          the table is large; the application works unchanged on the plain table.
+-- Notes:   A partitioned table's primary key must include the partition key, so it becomes (org_id, id).
+--          transaction_materials can then no longer reference transactions(id) and its foreign key is dropped;
+--          rows are still written in the same transaction as their parent.
+--          Very large single orgs can later be split out with LIST partitions instead of a hash slot.
+-- Run once, during a write pause. Not idempotent.
+
+BEGIN;
+
+DO $$
+DECLARE fk record;
+BEGIN
+  FOR fk IN SELECT conname FROM pg_constraint
+             WHERE conrelid = 'ledger.transaction_materials'::regclass AND contype = 'f'
+               AND confrelid = 'ledger.transactions'::regclass LOOP
+    EXECUTE format('ALTER TABLE ledger.transaction_materials DROP CONSTRAINT %I', fk.conname);
+  END LOOP;
+END $$;
+
+ALTER TABLE ledger.transactions RENAME TO transactions_unpartitioned;
+
+CREATE TABLE ledger.transactions (
+  id       uuid           NOT NULL,
+  type     varchar(255)   NOT NULL,
+  category varchar(255)   NOT NULL,
+  name     varchar(255),
+  amount   numeric(38, 2) NOT NULL,
+  tx_date  date           NOT NULL,
+  notes    varchar(255),
+  org_id   uuid           NOT NULL,
+  PRIMARY KEY (org_id, id)
+) PARTITION BY HASH (org_id);
+
+CREATE TABLE ledger.transactions_p0 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE ledger.transactions_p1 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE ledger.transactions_p2 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE ledger.transactions_p3 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE ledger.transactions_p4 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE ledger.transactions_p5 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE ledger.transactions_p6 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE ledger.transactions_p7 PARTITION OF ledger.transactions FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+INSERT INTO ledger.transactions (id, type, category, name, amount, tx_date, notes, org_id)
+SELECT id, type, category, name, amount, tx_date, notes, org_id FROM ledger.transactions_unpartitioned;
+
+DROP TABLE ledger.transactions_unpartitioned;
+
+-- these mirror ledger-service db/migration/V3__list_and_export_indexes.sql, which the old table had
+SET LOCAL search_path = ledger;
+create index if not exists transactions_org_date_idx on transactions (org_id, tx_date, id);
+create index if not exists transactions_org_category_date_idx on transactions (org_id, category, tx_date);
+create index if not exists transactions_org_type_date_idx on transactions (org_id, type, tx_date);
+create index if not exists transaction_materials_tx_idx on transaction_materials (transaction_id);
+
+COMMIT;
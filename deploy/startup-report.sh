@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Prints how long each running service took to start, from the application.started.time and application.ready.time
+# gauges Spring Boot publishes on /actuator/prometheus. Run it right after `docker compose up`.
+#   deploy/startup-report.sh                      # services on localhost, ports as in docker-compose.yml
+#   SERVICES="ledger-service=http://10.0.0.5:8082" deploy/startup-report.sh
+set -euo pipefail
+
+SERVICES=${SERVICES:-"api-gateway=http://localhost:9090 auth-service=http://localhost:9092 ledger-service=http://localhost:9091
+hr-service=http://localhost:9094 student-service=http://localhost:9095 reporting-service=http://localhost:9096"}
+
+gauge() { awk -v name="$1" '$1 ~ "^"name"([{]|$)" { print $NF; exit }'; }
+
+printf '%-20s %10s %10s\n' module started ready
+for entry in $SERVICES; do
+  module=${entry%%=*}; url=${entry#*=}
+  if ! metrics=$(curl -fsS --max-time 5 "$url/actuator/prometheus"); then
+    printf '%-20s %10s %10s\n' "$module" - unreachable
+    continue
+  fi
+  started=$(gauge application_started_time_seconds <<<"$metrics")
+  ready=$(gauge application_ready_time_seconds <<<"$metrics")
+  printf '%-20s %9.3fs %9.3fs\n' "$module" "${started:-0}" "${ready:-0}"
+done
@@ -1,7 +1,12 @@
 package org.sncrwanda.hr.domain;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*; import lombok.Getter; import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 import java.math.BigDecimal; import java.time.LocalDate; import java.util.UUID;
-@Entity @Table(name="employees") @Getter @Setter
+@Entity @Table(name="employees", indexes={
+  @Index(name="employees_org_active_idx", columnList="org_id, active"),
+  @Index(name="employees_org_name_idx", columnList="org_id, full_name")
+}) @Getter @Setter
 public class Employee {
   @Id @GeneratedValue private UUID id;
   @Column(nullable=false) private String fullName;
@@ -11,5 +16,5 @@ public class Employee {
   @Column(nullable=false) private BigDecimal salary;
   private String phone; private String email;
   @Column(nullable=false) private boolean active = true;
-  @Column(nullable=false) private UUID orgId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  @TenantId @Column(nullable=false, updatable=false) @JsonProperty(access=JsonProperty.Access.READ_ONLY) private UUID orgId;
 }
@@ -0,0 +1,4 @@
+package org.sncrwanda.hr.domain;
+import java.math.BigDecimal; import java.util.UUID;
+/** The columns of an active {@link Employee} a payroll run needs. */
+public record Payee(UUID id, String fullName, BigDecimal salary) {}
@@ -0,0 +1,27 @@
+package org.sncrwanda.hr.domain;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*; import lombok.Getter; import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+import java.math.BigDecimal; import java.time.Instant; import java.util.UUID;
+/** One payroll per org and month; its id is the ledger idempotency key, so re-running it never posts twice. */
+@Entity @Table(name="payroll_runs", uniqueConstraints=@UniqueConstraint(name="payroll_runs_org_period_uq", columnNames={"org_id", "period"}))
+@Getter @Setter
+public class PayrollRun {
+  public enum Status { PENDING, RUNNING, POSTED, FAILED }
+  @Id @GeneratedValue private UUID id;
+  /** ISO year-month, e.g. 2026-10. */
+  @Column(nullable=false, length=7) private String period;
+  @Enumerated(EnumType.STRING) @Column(nullable=false) private Status status = Status.PENDING;
+  private int totalEmployees;
+  private int processedEmployees;
+  private int postedLines;
+  @Column(nullable=false) private BigDecimal totalAmount = BigDecimal.ZERO;
+  private Instant startedAt; private Instant finishedAt;
+  @Column(length=1000) private String error;
+  @TenantId @Column(nullable=false, updatable=false) @JsonProperty(access=JsonProperty.Access.READ_ONLY) private UUID orgId;
+
+  public int getProgressPercent(){
+    if (status == Status.POSTED) return 100;
+    return totalEmployees == 0 ? 0 : (int) (processedEmployees * 100L / totalEmployees);
+  }
+}
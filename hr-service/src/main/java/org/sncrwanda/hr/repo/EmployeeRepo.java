@@ -1,5 +1,17 @@
 package org.sncrwanda.hr.repo;
+import jakarta.persistence.QueryHint;
 import org.sncrwanda.hr.domain.Employee;
+import org.sncrwanda.hr.domain.Payee;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.UUID;
-public interface EmployeeRepo extends JpaRepository<Employee, UUID> {}
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.UUID; import java.util.stream.Stream;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+public interface EmployeeRepo extends JpaRepository<Employee, UUID> {
+  long countByActiveTrue();
+
+  /** Server-side cursor over the current org's active employees; must be consumed inside a transaction and closed. */
+  @QueryHints(@QueryHint(name=HINT_FETCH_SIZE, value="500"))
+  @Query("select new org.sncrwanda.hr.domain.Payee(e.id, e.fullName, e.salary) from Employee e where e.active = true order by e.id")
+  Stream<Payee> streamActive();
+}
@@ -0,0 +1,10 @@
+package org.sncrwanda.hr.repo;
+import org.sncrwanda.hr.domain.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List; import java.util.Optional; import java.util.UUID;
+public interface PayrollRunRepo extends JpaRepository<PayrollRun, UUID> {
+  Optional<PayrollRun> findByPeriod(String period);
+  /** A derived query rather than {@code findById}, so the tenant filter applies. */
+  Optional<PayrollRun> findRunById(UUID id);
+  List<PayrollRun> findAllByOrderByPeriodDesc();
+}
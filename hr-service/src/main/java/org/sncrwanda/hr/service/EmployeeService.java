@@ -0,0 +1,17 @@
+package org.sncrwanda.hr.service;
+import org.sncrwanda.common.outbox.OutboxWriter;
+import org.sncrwanda.hr.domain.Employee;
+import org.sncrwanda.hr.repo.EmployeeRepo;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+@Service
+public class EmployeeService {
+  private final EmployeeRepo repo; private final OutboxWriter outbox;
+  public EmployeeService(EmployeeRepo repo, OutboxWriter outbox){this.repo=repo; this.outbox=outbox;}
+  @Transactional
+  public Employee create(Employee e){
+    Employee saved = repo.save(e);
+    outbox.append("Employee", saved.getId(), "EmployeeCreated", saved.getOrgId(), saved);
+    return saved;
+  }
+}
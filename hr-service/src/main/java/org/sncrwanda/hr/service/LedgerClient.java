@@ -0,0 +1,36 @@
+package org.sncrwanda.hr.service;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import java.math.BigDecimal; import java.time.LocalDate; import java.util.List; import java.util.UUID;
+/** Posts payroll lines to ledger-service's bulk import as one keyed, all-or-nothing batch. */
+@Component
+public class LedgerClient {
+  public record PayLine(UUID employeeId, String employeeName, BigDecimal amount) {}
+  /** The counters of ledger-service's bulk result; per-row details are not needed here. */
+  public record BatchResult(int created, int rejected, int failed, String aborted) {}
+  record Row(String type, String category, String name, BigDecimal amount, LocalDate txDate, String notes) {}
+  static final String CATEGORY = "payroll";
+  private final RestClient ledger;
+  public LedgerClient(RestClient.Builder http, @Value("${sncrwanda.ledger.url:http://localhost:8082}") String ledgerUrl){
+    this.ledger = http.baseUrl(ledgerUrl).build();
+  }
+
+  /** {@code idempotencyKey} must be stable across retries of the same run; the ledger replays the first result for it. */
+  public BatchResult post(String idempotencyKey, LocalDate txDate, String notes, List<PayLine> lines, String authorization){
+    List<Row> rows = lines.stream()
+      .map(l -> new Row("PAYROLL", CATEGORY, "Salary " + l.employeeName(), l.amount(), txDate, notes + ", employee " + l.employeeId()))
+      .toList();
+    return ledger.post().uri("/ledger/transactions/bulk")
+      .contentType(MediaType.APPLICATION_JSON)
+      .header("Idempotency-Key", idempotencyKey)
+      .header(TenantContext.HEADER, TenantContext.require().toString())
+      .headers(h -> { if (authorization != null) h.set(HttpHeaders.AUTHORIZATION, authorization); })
+      .body(rows)
+      .retrieve()
+      .body(BatchResult.class);
+  }
+}
@@ -0,0 +1,155 @@
+package org.sncrwanda.hr.service;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.hr.domain.Payee;
+import org.sncrwanda.hr.domain.PayrollRun;
+import org.sncrwanda.hr.repo.EmployeeRepo;
+import org.sncrwanda.hr.repo.PayrollRunRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+/**
+ * Runs payroll for one org and month in the background: streams the active employees, computes their pay lines in
+ * parallel chunks on virtual threads, and posts all lines to the ledger as one batch keyed by the run id. Progress is
+ * saved after every chunk. A run that failed or was cut short by a restart is re-run by starting it again; the
+ * ledger recognises the key, so lines that were already posted are not posted twice.
+ */
+@Service
+public class PayrollService {
+  private static final Logger log = LoggerFactory.getLogger(PayrollService.class);
+  private final PayrollRunRepo runs; private final EmployeeRepo employees; private final LedgerClient ledger;
+  private final TransactionTemplate tx; private final TransactionTemplate readTx; private final int chunkSize;
+  private final ExecutorService runner = Executors.newVirtualThreadPerTaskExecutor();
+  /** Runs executing in this instance, so a second start while one is in flight does not launch it twice. */
+  private final Set<UUID> active = ConcurrentHashMap.newKeySet();
+
+  public PayrollService(PayrollRunRepo runs, EmployeeRepo employees, LedgerClient ledger, PlatformTransactionManager txManager,
+                        @Value("${sncrwanda.hr.payroll.chunk-size:250}") int chunkSize){
+    this.runs=runs; this.employees=employees; this.ledger=ledger; this.chunkSize=chunkSize;
+    this.tx = new TransactionTemplate(txManager);
+    this.readTx = new TransactionTemplate(txManager); this.readTx.setReadOnly(true);
+  }
+
+  /** Returns the org's run for {@code period}, starting or resuming it unless it is already posted or executing. */
+  public PayrollRun start(YearMonth period, String authorization){
+    UUID orgId = TenantContext.require();
+    PayrollRun run;
+    try { run = tx.execute(s -> runs.findByPeriod(period.toString()).orElseGet(() -> create(period))); }
+    catch (DataIntegrityViolationException e) { run = runs.findByPeriod(period.toString()).orElseThrow(() -> e); } // concurrent start of the same period
+    UUID runId = run.getId();
+    if (run.getStatus() != PayrollRun.Status.POSTED && active.add(runId)) {
+      runner.submit(() -> TenantContext.runAs(orgId, () -> execute(runId, period, authorization)));
+    }
+    return run;
+  }
+
+  private PayrollRun create(YearMonth period){
+    PayrollRun run = new PayrollRun();
+    run.setPeriod(period.toString());
+    return runs.saveAndFlush(run);
+  }
+
+  void execute(UUID runId, YearMonth period, String authorization){
+    try {
+      int total = (int) employees.countByActiveTrue();
+      update(runId, r -> {
+        r.setStatus(PayrollRun.Status.RUNNING); r.setStartedAt(Instant.now()); r.setFinishedAt(null); r.setError(null);
+        r.setTotalEmployees(total); r.setProcessedEmployees(0);
+      });
+      List<LedgerClient.PayLine> lines = compute(runId);
+      BigDecimal sum = lines.stream().map(LedgerClient.PayLine::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+      int posted = 0;
+      if (!lines.isEmpty()) {
+        var result = ledger.post("payroll-" + runId, period.atEndOfMonth(), "Payroll " + period + ", run " + runId, lines, authorization);
+        if (result == null || result.created() != lines.size()) {
+          throw new IllegalStateException(result == null ? "Empty ledger response"
+            : "Ledger posted " + result.created() + " of " + lines.size() + " lines (rejected " + result.rejected()
+              + ", failed " + result.failed() + (result.aborted() == null ? "" : ", " + result.aborted()) + ")");
+        }
+        posted = result.created();
+      }
+      int postedLines = posted;
+      update(runId, r -> {
+        r.setStatus(PayrollRun.Status.POSTED); r.setPostedLines(postedLines); r.setTotalAmount(sum); r.setFinishedAt(Instant.now());
+      });
+    } catch (RuntimeException e) {
+      log.warn("Payroll run {} failed", runId, e);
+      String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      update(runId, r -> {
+        r.setStatus(PayrollRun.Status.FAILED); r.setError(message.length() > 1000 ? message.substring(0, 1000) : message); r.setFinishedAt(Instant.now());
+      });
+    } finally {
+      active.remove(runId);
+    }
+  }
+
+  /** Chunks are computed concurrently while the cursor keeps reading; lines come back in employee id order. */
+  List<LedgerClient.PayLine> compute(UUID runId){
+    List<Future<List<LedgerClient.PayLine>>> chunks = new ArrayList<>();
+    List<Integer> sizes = new ArrayList<>();
+    List<LedgerClient.PayLine> lines = new ArrayList<>();
+    try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+      readTx.executeWithoutResult(s -> {
+        List<Payee> chunk = new ArrayList<>(chunkSize);
+        try (Stream<Payee> payees = employees.streamActive()) {
+          payees.forEach(p -> {
+            chunk.add(p);
+            if (chunk.size() == chunkSize) { submit(pool, chunk, chunks, sizes); chunk.clear(); }
+          });
+        }
+        if (!chunk.isEmpty()) submit(pool, chunk, chunks, sizes);
+      });
+      for (int i = 0; i < chunks.size(); i++) {
+        lines.addAll(chunks.get(i).get());
+        int done = sizes.get(i);
+        update(runId, r -> r.setProcessedEmployees(r.getProcessedEmployees() + done));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Payroll run interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Pay calculation failed: " + e.getCause().getMessage(), e.getCause());
+    }
+    return lines;
+  }
+
+  private static void submit(ExecutorService pool, List<Payee> chunk, List<Future<List<LedgerClient.PayLine>>> chunks, List<Integer> sizes){
+    List<Payee> copy = List.copyOf(chunk);
+    chunks.add(pool.submit(() -> copy.stream().map(PayrollService::payLine).filter(l -> l.amount().signum() > 0).toList()));
+    sizes.add(copy.size());
+  }
+
+  /** Salaries are monthly gross amounts. */
+  static LedgerClient.PayLine payLine(Payee p){
+    BigDecimal amount = p.salary() == null ? BigDecimal.ZERO : p.salary().setScale(2, RoundingMode.HALF_UP);
+    return new LedgerClient.PayLine(p.id(), p.fullName(), amount);
+  }
+
+  private void update(UUID runId, Consumer<PayrollRun> change){
+    tx.executeWithoutResult(s -> runs.findRunById(runId).ifPresent(change));
+  }
+
+  @PreDestroy
+  void shutdown(){
+    runner.shutdownNow();
+  }
+}
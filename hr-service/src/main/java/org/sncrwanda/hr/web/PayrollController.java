@@ -0,0 +1,26 @@
+package org.sncrwanda.hr.web;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.sncrwanda.hr.domain.PayrollRun;
+import org.sncrwanda.hr.repo.PayrollRunRepo;
+import org.sncrwanda.hr.service.PayrollService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.YearMonth; import java.util.List; import java.util.UUID;
+@RestController @RequestMapping("/hr/payroll/runs")
+public class PayrollController {
+  public record StartRun(@NotNull YearMonth period) {}
+  private final PayrollService service; private final PayrollRunRepo runs;
+  public PayrollController(PayrollService service, PayrollRunRepo runs){this.service=service; this.runs=runs;}
+
+  /** Starts, or resumes after a failure, the payroll for a month; poll the returned run for progress. */
+  @PostMapping public ResponseEntity<PayrollRun> start(@Valid @RequestBody StartRun req,
+                                                      @RequestHeader(value=HttpHeaders.AUTHORIZATION, required=false) String authorization){
+    return ResponseEntity.accepted().body(service.start(req.period(), authorization));
+  }
+  @GetMapping public List<PayrollRun> list(){ return runs.findAllByOrderByPeriodDesc(); }
+  @GetMapping("/{id}") public ResponseEntity<PayrollRun> get(@PathVariable UUID id){
+    return runs.findRunById(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+  }
+}
@@ -0,0 +1,15 @@
+-- HR schema as Hibernate created it before migrations existed; such databases are baselined at this version.
+
+create table employees (
+    id        uuid           not null,
+    full_name varchar(255)   not null,
+    dob       date           not null,
+    address   varchar(255)   not null,
+    position  varchar(255)   not null,
+    salary    numeric(38, 2) not null,
+    phone     varchar(255),
+    email     varchar(255),
+    active    boolean        not null,
+    org_id    uuid           not null,
+    primary key (id)
+);
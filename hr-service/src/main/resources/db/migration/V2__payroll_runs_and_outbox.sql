@@ -0,0 +1,29 @@
+-- Payroll runs and the transactional outbox.
+
+create table payroll_runs (
+    id                  uuid                        not null,
+    period              varchar(7)                  not null,
+    status              varchar(255)                not null,
+    total_employees     integer                     not null,
+    processed_employees integer                     not null,
+    posted_lines        integer                     not null,
+    total_amount        numeric(38, 2)              not null,
+    started_at          timestamp(6) with time zone,
+    finished_at         timestamp(6) with time zone,
+    error               varchar(1000),
+    org_id              uuid                        not null,
+    primary key (id),
+    constraint payroll_runs_org_period_uq unique (org_id, period)
+);
+
+create table outbox_events (
+    seq            bigint generated by default as identity primary key,
+    id             uuid         not null,
+    aggregate_type varchar(100) not null,
+    aggregate_id   uuid,
+    event_type     varchar(100) not null,
+    org_id         uuid,
+    payload        text         not null,
+    created_at     timestamp with time zone not null,
+    published_at   timestamp with time zone
+);
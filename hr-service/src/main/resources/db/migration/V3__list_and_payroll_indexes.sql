@@ -0,0 +1,5 @@
+-- payroll runs stream and count the active employees of one org
+create index if not exists employees_org_active_idx on employees (org_id, active);
+create index if not exists employees_org_name_idx on employees (org_id, full_name);
+
+create index if not exists outbox_events_pending_idx on outbox_events (published_at, seq);
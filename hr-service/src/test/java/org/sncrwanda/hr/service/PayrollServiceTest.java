@@ -0,0 +1,116 @@
+package org.sncrwanda.hr.service;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.hr.domain.Employee;
+import org.sncrwanda.hr.domain.PayrollRun;
+import org.sncrwanda.hr.repo.EmployeeRepo;
+import org.sncrwanda.hr.repo.PayrollRunRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.Callable;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+/** Re-running a payroll must replay the first post to the ledger (same key, same lines), never post a second batch. */
+@SpringBootTest(webEnvironment=SpringBootTest.WebEnvironment.NONE, properties="sncrwanda.hr.payroll.chunk-size=3")
+@ActiveProfiles("test")
+class PayrollServiceTest {
+  static final YearMonth PERIOD = YearMonth.of(2026, 9);
+
+  @Autowired PayrollService payroll;
+  @Autowired PayrollRunRepo runs;
+  @Autowired EmployeeRepo employees;
+  @MockBean LedgerClient ledger;
+
+  @Test
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  void rerunAfterAFailedPostSendsTheSameKeyAndLines(){
+    UUID org = UUID.randomUUID();
+    hire(org, 7);
+    when(ledger.post(anyString(), any(), anyString(), anyList(), any()))
+      .thenThrow(new IllegalStateException("ledger unavailable"))
+      .thenReturn(new LedgerClient.BatchResult(7, 0, 0, null));
+
+    PayrollRun failed = runToEnd(org);
+    assertThat(failed.getStatus()).isEqualTo(PayrollRun.Status.FAILED);
+    assertThat(failed.getError()).contains("ledger unavailable");
+
+    PayrollRun posted = runToEnd(org);
+    assertThat(posted.getId()).isEqualTo(failed.getId());
+    assertThat(posted.getStatus()).isEqualTo(PayrollRun.Status.POSTED);
+    assertThat(posted.getPostedLines()).isEqualTo(7);
+    assertThat(posted.getTotalAmount()).isEqualByComparingTo("2100000.00");
+
+    ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<List> lines = ArgumentCaptor.forClass(List.class);
+    verify(ledger, times(2)).post(keys.capture(), eq(PERIOD.atEndOfMonth()), anyString(), lines.capture(), any());
+    assertThat(keys.getAllValues()).containsOnly("payroll-" + posted.getId());
+    assertThat(lines.getAllValues().get(1)).hasSize(7).isEqualTo(lines.getAllValues().get(0));
+  }
+
+  @Test
+  void startingAPostedRunDoesNotPostAgain(){
+    UUID org = UUID.randomUUID();
+    hire(org, 2);
+    when(ledger.post(anyString(), any(), anyString(), anyList(), any())).thenReturn(new LedgerClient.BatchResult(2, 0, 0, null));
+    PayrollRun posted = runToEnd(org);
+    assertThat(posted.getStatus()).isEqualTo(PayrollRun.Status.POSTED);
+
+    PayrollRun again = as(org, () -> payroll.start(PERIOD, null));
+    assertThat(again.getStatus()).isEqualTo(PayrollRun.Status.POSTED);
+    verify(ledger, times(1)).post(anyString(), any(), anyString(), anyList(), any());
+  }
+
+  @Test
+  void partialPostIsAFailureToRetry(){
+    UUID org = UUID.randomUUID();
+    hire(org, 3);
+    when(ledger.post(anyString(), any(), anyString(), anyList(), any())).thenReturn(new LedgerClient.BatchResult(2, 1, 0, null));
+    PayrollRun run = runToEnd(org);
+    assertThat(run.getStatus()).isEqualTo(PayrollRun.Status.FAILED);
+    assertThat(run.getError()).contains("Ledger posted 2 of 3 lines");
+  }
+
+  private void hire(UUID org, int count){
+    TenantContext.runAs(org, () -> {
+      for (int i = 0; i < count; i++) {
+        Employee e = new Employee();
+        e.setFullName("Employee " + i); e.setDob(LocalDate.of(1990, 1, 15)); e.setAddress("Kigali"); e.setPosition("Teacher");
+        e.setSalary(new BigDecimal("300000.00"));
+        employees.save(e);
+      }
+    });
+  }
+
+  /** Starts or resumes the period's run and waits for an execution that ends after this call. */
+  private PayrollRun runToEnd(UUID org){
+    Instant since = Instant.now();
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while (System.nanoTime() < deadline) {
+      Optional<PayrollRun> run = as(org, () -> runs.findByPeriod(PERIOD.toString()));
+      boolean ended = run.isPresent() && (run.get().getStatus() == PayrollRun.Status.POSTED || run.get().getStatus() == PayrollRun.Status.FAILED);
+      if (ended && !run.get().getFinishedAt().isBefore(since)) return run.get();
+      // starting again is a no-op while the previous execution still holds its slot
+      if (run.isEmpty() || ended) as(org, () -> payroll.start(PERIOD, null));
+      sleep(20);
+    }
+    throw new AssertionError("Payroll run did not finish");
+  }
+
+  private static <T> T as(UUID org, Callable<T> work){
+    try { return TenantContext.callAs(org, work); }
+    catch (Exception e) { throw new IllegalStateException(e); }
+  }
+
+  private static void sleep(long millis){
+    try { Thread.sleep(millis); } catch (InterruptedException e) { Thread.currentThread().interrupt(); throw new IllegalStateException(e); }
+  }
+}
@@ -1,7 +1,8 @@
 package org.sncrwanda.ledger;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-@SpringBootApplication
+import org.springframework.scheduling.annotation.EnableScheduling;
+@SpringBootApplication @EnableScheduling
 public class LedgerApplication {
   public static void main(String[] args) { SpringApplication.run(LedgerApplication.class, args); }
 }
@@ -0,0 +1,16 @@
+package org.sncrwanda.ledger.domain;
+import jakarta.persistence.*;
+import lombok.Getter; import lombok.Setter;
+import java.time.Instant; import java.util.UUID;
+/** A bulk import submitted with an Idempotency-Key; written in the same transaction as its rows, so a retry can tell it already happened. */
+@Entity @Table(name="import_batches", uniqueConstraints=@UniqueConstraint(name="import_batches_org_key_uq", columnNames={"org_id", "idempotency_key"}))
+@Getter @Setter
+public class ImportBatch {
+  @Id private UUID id;
+  @Column(nullable=false, updatable=false) private UUID orgId;
+  @Column(nullable=false, updatable=false, length=200) private String idempotencyKey;
+  @Column(nullable=false) private int rowCount;
+  @Column(nullable=false) private Instant createdAt;
+  /** The import result as returned the first time, replayed verbatim to retries. */
+  @Column(columnDefinition="text") private String result;
+}
@@ -1,8 +1,15 @@
 package org.sncrwanda.ledger.domain;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Getter; import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
 import java.math.BigDecimal; import java.time.LocalDate; import java.util.HashSet; import java.util.Set; import java.util.UUID;
-@Entity @Table(name="transactions") @Getter @Setter
+/** Scoped to the current org through {@code @TenantId}; listings and keyset pages lead with org_id in every index. */
+@Entity @Table(name="transactions", indexes={
+  @Index(name="transactions_org_date_idx", columnList="org_id, tx_date, id"),
+  @Index(name="transactions_org_category_date_idx", columnList="org_id, category, tx_date")
+}) @Getter @Setter
 public class Transaction {
   public enum TxType { INCOME, EXPENSE, PAYROLL }
   @Id @GeneratedValue private UUID id;
@@ -10,9 +17,9 @@ public class Transaction {
   @Column(nullable=false) private String category;
   private String name;
   @ElementCollection @CollectionTable(name="transaction_materials", joinColumns=@JoinColumn(name="transaction_id"))
-  @Column(name="item_name") private Set<String> materials = new HashSet<>();
+  @Column(name="item_name") @BatchSize(size=100) private Set<String> materials = new HashSet<>();
   @Column(nullable=false) private BigDecimal amount;
   @Column(nullable=false) private LocalDate txDate = LocalDate.now();
   private String notes;
-  @Column(nullable=false) private UUID orgId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  @TenantId @Column(nullable=false, updatable=false) @JsonProperty(access=JsonProperty.Access.READ_ONLY) private UUID orgId;
 }
@@ -0,0 +1,15 @@
+package org.sncrwanda.ledger.repo;
+import org.sncrwanda.ledger.domain.Transaction;
+import java.time.LocalDate; import java.util.List; import java.util.UUID; import java.util.stream.Stream;
+/**
+ * Listing queries built from only the filters a request actually sets, so Postgres plans each shape on its own instead
+ * of one catch-all {@code (:p is null or ...)} plan. No org predicate: Hibernate adds the current tenant to every query.
+ */
+public interface TransactionQueries {
+  /** Newest first; {@code afterDate}/{@code afterId} is the last row of the previous page (both null for the first page). */
+  List<Transaction> findPage(Transaction.TxType type, String category, LocalDate from, LocalDate to,
+                             LocalDate afterDate, UUID afterId, int limit);
+
+  /** Server-side cursor over the filtered rows in (txDate, id) order; must be consumed inside a transaction and closed. */
+  Stream<Transaction> streamAll(Transaction.TxType type, String category, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,49 @@
+package org.sncrwanda.ledger.repo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.sncrwanda.ledger.domain.Transaction;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+class TransactionQueriesImpl implements TransactionQueries {
+  private final EntityManager em;
+  TransactionQueriesImpl(EntityManager em){this.em=em;}
+
+  @Override
+  public List<Transaction> findPage(Transaction.TxType type, String category, LocalDate from, LocalDate to,
+                                    LocalDate afterDate, UUID afterId, int limit){
+    Map<String, Object> params = new HashMap<>();
+    List<String> where = filters(type, category, from, to, params);
+    if (afterDate != null) {
+      // a row-value comparison is one range on (org_id, tx_date, id); the OR-expanded form is not
+      where.add("(t.txDate, t.id) < (:afterDate, :afterId)");
+      params.put("afterDate", afterDate); params.put("afterId", afterId);
+    }
+    return query(where, "t.txDate desc, t.id desc", params).setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public Stream<Transaction> streamAll(Transaction.TxType type, String category, LocalDate from, LocalDate to){
+    Map<String, Object> params = new HashMap<>();
+    return query(filters(type, category, from, to, params), "t.txDate, t.id", params)
+      .setHint(HINT_FETCH_SIZE, 500).setHint(HINT_READ_ONLY, true).getResultStream();
+  }
+
+  static List<String> filters(Transaction.TxType type, String category, LocalDate from, LocalDate to, Map<String, Object> params){
+    List<String> where = new ArrayList<>();
+    if (type != null) { where.add("t.type = :type"); params.put("type", type); }
+    if (category != null) { where.add("t.category = :category"); params.put("category", category); }
+    if (from != null) { where.add("t.txDate >= :from"); params.put("from", from); }
+    if (to != null) { where.add("t.txDate <= :to"); params.put("to", to); }
+    return where;
+  }
+
+  private TypedQuery<Transaction> query(List<String> where, String orderBy, Map<String, Object> params){
+    String jpql = "select t from Transaction t" + (where.isEmpty() ? "" : " where " + String.join(" and ", where)) + " order by " + orderBy;
+    TypedQuery<Transaction> q = em.createQuery(jpql, Transaction.class);
+    params.forEach(q::setParameter);
+    return q;
+  }
+}
@@ -0,0 +1,94 @@
+package org.sncrwanda.ledger.service;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.ledger.domain.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+/**
+ * Running balances per (org, category): an all-time total, the net of every month, and month-end closing snapshots
+ * written by {@link BalanceSnapshotter}. Postings add to them inside their own transaction with
+ * {@code update ... set x = x + ?}, so concurrent posts queue on the row lock instead of overwriting each other.
+ * INCOME counts positive, EXPENSE and PAYROLL negative.
+ */
+@Service
+public class BalanceService {
+  public record CategoryBalance(String category, BigDecimal balance, long txCount) {}
+  public record BalanceAsOf(String category, LocalDate asOf, BigDecimal balance) {}
+  record Key(UUID orgId, String category, LocalDate month) {}
+  record Delta(BigDecimal net, long count) { Delta plus(Delta o){ return new Delta(net.add(o.net), count + o.count); } }
+
+  static final String ENSURE_BALANCE = "insert into balances (org_id, category, balance, tx_count) values (?, ?, 0, 0) on conflict do nothing";
+  static final String ADD_BALANCE = "update balances set balance = balance + ?, tx_count = tx_count + ? where org_id = ? and category = ?";
+  static final String ENSURE_PERIOD = "insert into balance_periods (org_id, category, period_start, net, tx_count) values (?, ?, ?, 0, 0) on conflict do nothing";
+  static final String ADD_PERIOD = "update balance_periods set net = net + ?, tx_count = tx_count + ? where org_id = ? and category = ? and period_start = ?";
+  static final String ADJUST_SNAPSHOTS = "update balance_snapshots set closing = closing + ? where org_id = ? and category = ? and period_start >= ?";
+  static final String CURRENT = "select category, balance, tx_count from balances where org_id = ? order by category";
+  static final String CATEGORIES = "select category from balances where org_id = ? order by category";
+  static final String LATEST_SNAPSHOT = "select period_start, closing from balance_snapshots where org_id = ? and category = ? and period_start < ? order by period_start desc fetch first 1 rows only";
+  static final String NET_BETWEEN = "select coalesce(sum(net), 0) from balance_periods where org_id = ? and category = ? and period_start >= ? and period_start < ?";
+  static final String NET_BEFORE = "select coalesce(sum(net), 0) from balance_periods where org_id = ? and category = ? and period_start < ?";
+  static final String NET_WITHIN = "select coalesce(sum(case when type = 'INCOME' then amount else -amount end), 0) from transactions where org_id = ? and category = ? and tx_date >= ? and tx_date <= ?";
+  // rows are locked in this order by every writer, so two batches touching the same categories cannot deadlock
+  static final Comparator<Key> LOCK_ORDER = Comparator.comparing(Key::orgId).thenComparing(Key::category)
+    .thenComparing(Key::month, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final JdbcTemplate jdbc;
+  public BalanceService(JdbcTemplate jdbc){this.jdbc=jdbc;}
+
+  /** Adds postings to the balances. Must run in the transaction that writes them, so both commit or neither does. */
+  public void apply(List<TransactionPosted> posted){
+    if (posted.isEmpty()) return;
+    Map<Key, Delta> totals = new TreeMap<>(LOCK_ORDER), months = new TreeMap<>(LOCK_ORDER);
+    for (TransactionPosted p : posted) {
+      Delta d = new Delta(signed(p.type(), p.amount()), 1);
+      totals.merge(new Key(p.orgId(), p.category(), null), d, Delta::plus);
+      months.merge(new Key(p.orgId(), p.category(), p.txDate().withDayOfMonth(1)), d, Delta::plus);
+    }
+    jdbc.batchUpdate(ENSURE_BALANCE, totals.keySet().stream().map(k -> new Object[]{k.orgId(), k.category()}).toList());
+    jdbc.batchUpdate(ADD_BALANCE, totals.entrySet().stream()
+      .map(e -> new Object[]{e.getValue().net(), e.getValue().count(), e.getKey().orgId(), e.getKey().category()}).toList());
+    jdbc.batchUpdate(ENSURE_PERIOD, months.keySet().stream().map(k -> new Object[]{k.orgId(), k.category(), k.month()}).toList());
+    jdbc.batchUpdate(ADD_PERIOD, months.entrySet().stream()
+      .map(e -> new Object[]{e.getValue().net(), e.getValue().count(), e.getKey().orgId(), e.getKey().category(), e.getKey().month()}).toList());
+    // a backdated posting moves every closing balance from its month on; current-month postings match no snapshot
+    jdbc.batchUpdate(ADJUST_SNAPSHOTS, months.entrySet().stream()
+      .map(e -> new Object[]{e.getValue().net(), e.getKey().orgId(), e.getKey().category(), e.getKey().month()}).toList());
+  }
+
+  @Transactional(readOnly=true)
+  public List<CategoryBalance> current(){
+    return jdbc.query(CURRENT, (rs, i) -> new CategoryBalance(rs.getString(1), rs.getBigDecimal(2), rs.getLong(3)), TenantContext.require());
+  }
+
+  /**
+   * Balance at the end of {@code date}: the last closing snapshot before its month, plus the monthly nets the snapshotter
+   * has not reached yet, plus that month's transactions up to the date. Repeatable read keeps the three parts consistent
+   * with each other while postings continue.
+   */
+  @Transactional(readOnly=true, isolation=Isolation.REPEATABLE_READ)
+  public List<BalanceAsOf> asOf(LocalDate date, String category){
+    UUID orgId = TenantContext.require();
+    LocalDate month = date.withDayOfMonth(1);
+    List<String> categories = category != null ? List.of(category) : jdbc.queryForList(CATEGORIES, String.class, orgId);
+    return categories.stream().map(c -> new BalanceAsOf(c, date, balanceAt(orgId, c, month, date))).toList();
+  }
+
+  BigDecimal balanceAt(UUID orgId, String category, LocalDate month, LocalDate date){
+    record Snapshot(LocalDate month, BigDecimal closing) {}
+    Snapshot snap = jdbc.query(LATEST_SNAPSHOT, rs -> rs.next() ? new Snapshot(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2)) : null, orgId, category, month);
+    BigDecimal balance;
+    if (snap == null) balance = jdbc.queryForObject(NET_BEFORE, BigDecimal.class, orgId, category, month);
+    else if (snap.month().plusMonths(1).isBefore(month))
+      balance = snap.closing().add(jdbc.queryForObject(NET_BETWEEN, BigDecimal.class, orgId, category, snap.month().plusMonths(1), month));
+    else balance = snap.closing();
+    return balance.add(jdbc.queryForObject(NET_WITHIN, BigDecimal.class, orgId, category, month, date));
+  }
+
+  static BigDecimal signed(Transaction.TxType type, BigDecimal amount){
+    return type == Transaction.TxType.INCOME ? amount : amount.negate();
+  }
+}
@@ -0,0 +1,84 @@
+package org.sncrwanda.ledger.service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+/**
+ * Writes a closing-balance snapshot for every finished month of every (org, category), so a point-in-time query in
+ * {@link BalanceService} never sums more than a month or two of history. Each pair is caught up in its own transaction
+ * under the lock of its {@code balances} row, the same row every posting updates first; a posting is therefore either
+ * counted in the monthly nets read here or adjusts the snapshots after they are written, never lost in between.
+ * Idempotent, so several instances may run it.
+ */
+@Component
+public class BalanceSnapshotter {
+  private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotter.class);
+  record Pair(UUID orgId, String category) {}
+  record Snapshot(LocalDate month, BigDecimal closing) {}
+
+  static final String PAIRS = "select org_id, category from balances";
+  static final String LOCK = "select balance from balances where org_id = ? and category = ? for update";
+  static final String LATEST = "select period_start, closing from balance_snapshots where org_id = ? and category = ? order by period_start desc fetch first 1 rows only";
+  static final String FIRST_PERIOD = "select min(period_start) from balance_periods where org_id = ? and category = ?";
+  static final String NETS = "select period_start, net from balance_periods where org_id = ? and category = ? and period_start >= ? and period_start <= ?";
+  static final String INSERT = "insert into balance_snapshots (org_id, category, period_start, closing) values (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbc; private final TransactionTemplate tx;
+  public BalanceSnapshotter(JdbcTemplate jdbc, PlatformTransactionManager txManager){this.jdbc=jdbc; this.tx=new TransactionTemplate(txManager);}
+
+  @Scheduled(initialDelayString="${sncrwanda.ledger.balances.snapshot-initial-delay:PT1M}", fixedDelayString="${sncrwanda.ledger.balances.snapshot-interval:PT6H}")
+  public void snapshotClosedMonths(){
+    try {
+      // every org's balances in one pass
+      TenantContext.runAsRoot(() -> {
+        int written = snapshotThrough(YearMonth.now().minusMonths(1));
+        if (written > 0) log.info("Wrote {} balance snapshots", written);
+      });
+    } catch (RuntimeException e) {
+      log.warn("Balance snapshots failed, retrying next interval: {}", e.getMessage());
+    }
+  }
+
+  /** Fills in closing snapshots up to and including {@code lastClosed}; returns how many were written. */
+  public int snapshotThrough(YearMonth lastClosed){
+    LocalDate through = lastClosed.atDay(1);
+    int written = 0;
+    for (Pair p : jdbc.query(PAIRS, (rs, i) -> new Pair(rs.getObject(1, UUID.class), rs.getString(2)))) {
+      Integer n = tx.execute(s -> snapshot(p, through));
+      written += n == null ? 0 : n;
+    }
+    return written;
+  }
+
+  int snapshot(Pair p, LocalDate through){
+    jdbc.queryForObject(LOCK, BigDecimal.class, p.orgId(), p.category());
+    Snapshot latest = jdbc.query(LATEST, rs -> rs.next() ? new Snapshot(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2)) : null, p.orgId(), p.category());
+    LocalDate next; BigDecimal closing;
+    if (latest != null) {
+      next = latest.month().plusMonths(1); closing = latest.closing();
+    } else {
+      next = jdbc.queryForObject(FIRST_PERIOD, LocalDate.class, p.orgId(), p.category());
+      closing = BigDecimal.ZERO;
+      if (next == null) return 0;
+    }
+    if (next.isAfter(through)) return 0;
+    Map<LocalDate, BigDecimal> nets = new HashMap<>();
+    jdbc.query(NETS, rs -> { nets.put(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2)); }, p.orgId(), p.category(), next, through);
+    // months without postings still get a snapshot, so the gap a query has to bridge stays bounded
+    List<Object[]> rows = new ArrayList<>();
+    for (LocalDate m = next; !m.isAfter(through); m = m.plusMonths(1)) {
+      closing = closing.add(nets.getOrDefault(m, BigDecimal.ZERO));
+      rows.add(new Object[]{p.orgId(), p.category(), m, closing});
+    }
+    jdbc.batchUpdate(INSERT, rows);
+    return rows.size();
+  }
+}
@@ -0,0 +1,181 @@
+package org.sncrwanda.ledger.service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.sncrwanda.common.api.ErrorResponse;
+import org.sncrwanda.common.outbox.OutboxWriter;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.ledger.domain.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+/**
+ * Imports a JSON array or NDJSON stream of transactions. Rows are validated one by one and written in
+ * JDBC batches (transactions, their materials and the outbox events), each batch in its own transaction,
+ * so an import never holds more than one batch in memory. Keyed imports ({@link #importKeyed}) trade that
+ * for all-or-nothing semantics.
+ */
+@Service
+public class BulkImportService {
+  public enum RowStatus { CREATED, REJECTED, FAILED }
+  public record BulkRow(@NotNull Transaction.TxType type, @NotBlank String category, String name, Set<String> materials,
+                        @NotNull @Positive BigDecimal amount, LocalDate txDate, String notes) {}
+  public record RowResult(int index, RowStatus status, UUID id, List<ErrorResponse.FieldError> errors) {}
+  public record Result(int created, int rejected, int failed, List<RowResult> rows, String aborted) {}
+  public record Keyed(Result result, boolean replayed) {}
+  record Pending(int index, UUID id, BulkRow row, LocalDate txDate, UUID orgId) {}
+
+  static final String INSERT_TX = "insert into transactions (id, type, category, name, amount, tx_date, notes, org_id) values (?, ?, ?, ?, ?, ?, ?, ?)";
+  static final String INSERT_MATERIAL = "insert into transaction_materials (transaction_id, item_name) values (?, ?)";
+  static final String CLAIM_KEY = "insert into import_batches (id, org_id, idempotency_key, row_count, created_at) values (?, ?, ?, ?, ?) on conflict do nothing";
+  static final String STORE_RESULT = "update import_batches set result = ? where org_id = ? and idempotency_key = ?";
+  static final String FIND_RESULT = "select result from import_batches where org_id = ? and idempotency_key = ?";
+  static final int MAX_KEY_LENGTH = 200;
+
+  private final JdbcTemplate jdbc; private final TransactionTemplate tx; private final OutboxWriter outbox; private final BalanceService balances;
+  private final ObjectMapper mapper; private final Validator validator; private final int batchSize;
+  public BulkImportService(JdbcTemplate jdbc, PlatformTransactionManager txManager, OutboxWriter outbox, BalanceService balances, ObjectMapper mapper,
+                           Validator validator, @Value("${sncrwanda.ledger.bulk.batch-size:500}") int batchSize){
+    this.jdbc=jdbc; this.tx=new TransactionTemplate(txManager); this.outbox=outbox; this.balances=balances; this.mapper=mapper; this.validator=validator; this.batchSize=batchSize;
+  }
+
+  public Result importRows(InputStream in){
+    List<RowResult> results = new ArrayList<>();
+    List<Pending> batch = new ArrayList<>(batchSize);
+    String aborted = read(in, results, p -> { batch.add(p); if (batch.size() == batchSize) flush(batch, results); });
+    flush(batch, results);
+    return summarize(results, aborted);
+  }
+
+  /**
+   * For callers that retry, such as payroll runs. Every row is validated before anything is written; then the rows and
+   * the key are committed in one transaction, so the import happened entirely or not at all. A key already committed
+   * for this org returns the stored result without writing. Holds the whole import in memory.
+   */
+  public Keyed importKeyed(String key, InputStream in){
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+    UUID orgId = TenantContext.require();
+    String stored = storedResult(orgId, key);
+    if (stored != null) return new Keyed(parse(stored), true);
+    List<RowResult> results = new ArrayList<>();
+    List<Pending> rows = new ArrayList<>();
+    String aborted = read(in, results, rows::add);
+    // nothing is written unless every row is valid, so the caller can fix the input and retry with the same key
+    if (aborted != null || !results.isEmpty()) return new Keyed(summarize(results, aborted), false);
+    Result created;
+    try {
+      created = tx.execute(s -> {
+        // blocks on a concurrent request with the same key until it commits, then claims nothing
+        if (jdbc.update(CLAIM_KEY, UUID.randomUUID(), orgId, key, rows.size(), Timestamp.from(Instant.now())) == 0) return null;
+        for (int i = 0; i < rows.size(); i += batchSize) write(rows.subList(i, Math.min(i + batchSize, rows.size())));
+        Result r = summarize(new ArrayList<>(rows.stream().map(p -> new RowResult(p.index(), RowStatus.CREATED, p.id(), null)).toList()), null);
+        jdbc.update(STORE_RESULT, json(r), orgId, key);
+        return r;
+      });
+    } catch (DataAccessException e) {
+      var error = List.of(new ErrorResponse.FieldError(null, "Import failed: " + e.getMostSpecificCause().getMessage()));
+      return new Keyed(summarize(new ArrayList<>(rows.stream().map(p -> new RowResult(p.index(), RowStatus.FAILED, null, error)).toList()), null), false);
+    }
+    if (created == null) return new Keyed(parse(storedResult(orgId, key)), true);
+    return new Keyed(created, false);
+  }
+
+  /** Validates every row, handing the valid ones to {@code accepted}; returns why reading stopped early, or null. */
+  String read(InputStream in, List<RowResult> results, Consumer<Pending> accepted){
+    int index = 0;
+    // a root-level array is unwrapped, so the same iterator reads both formats
+    try (MappingIterator<JsonNode> it = mapper.readerFor(JsonNode.class).readValues(in)) {
+      while (it.hasNextValue()) {
+        int i = index++;
+        Pending p = validate(i, it.nextValue(), results);
+        if (p != null) accepted.accept(p);
+      }
+      return null;
+    } catch (IOException e) {
+      return "Unreadable input at row " + index + ": " + (e instanceof JsonProcessingException j ? j.getOriginalMessage() : e.getMessage());
+    }
+  }
+
+  static Result summarize(List<RowResult> results, String aborted){
+    results.sort(Comparator.comparingInt(RowResult::index));
+    int created = 0, rejected = 0, failed = 0;
+    for (RowResult r : results) switch (r.status()) { case CREATED -> created++; case REJECTED -> rejected++; case FAILED -> failed++; }
+    return new Result(created, rejected, failed, results, aborted);
+  }
+
+  String storedResult(UUID orgId, String key){
+    return jdbc.query(FIND_RESULT, rs -> rs.next() ? rs.getString(1) : null, orgId, key);
+  }
+
+  String json(Result r){
+    try { return mapper.writeValueAsString(r); }
+    catch (JsonProcessingException e) { throw new IllegalStateException("Import result is not serialisable", e); }
+  }
+
+  Result parse(String stored){
+    try { return mapper.readValue(stored, Result.class); }
+    catch (JsonProcessingException e) { throw new IllegalStateException("Stored import result is unreadable", e); }
+  }
+
+  Pending validate(int index, JsonNode node, List<RowResult> results){
+    BulkRow row;
+    try { row = mapper.treeToValue(node, BulkRow.class); }
+    catch (JsonProcessingException | IllegalArgumentException e) {
+      results.add(new RowResult(index, RowStatus.REJECTED, null, List.of(new ErrorResponse.FieldError(null, e.getMessage()))));
+      return null;
+    }
+    var violations = validator.validate(row);
+    if (!violations.isEmpty()) {
+      results.add(new RowResult(index, RowStatus.REJECTED, null, violations.stream()
+        .map(v -> new ErrorResponse.FieldError(v.getPropertyPath().toString(), v.getMessage())).toList()));
+      return null;
+    }
+    // plain JDBC bypasses the Hibernate tenant filter, so the org is stamped explicitly
+    return new Pending(index, UUID.randomUUID(), row, row.txDate() == null ? LocalDate.now() : row.txDate(), TenantContext.require());
+  }
+
+  void flush(List<Pending> batch, List<RowResult> results){
+    if (batch.isEmpty()) return;
+    try {
+      tx.executeWithoutResult(s -> write(batch));
+      batch.forEach(p -> results.add(new RowResult(p.index(), RowStatus.CREATED, p.id(), null)));
+    } catch (DataAccessException e) {
+      var error = List.of(new ErrorResponse.FieldError(null, "Batch write failed: " + e.getMostSpecificCause().getMessage()));
+      batch.forEach(p -> results.add(new RowResult(p.index(), RowStatus.FAILED, null, error)));
+    }
+    batch.clear();
+  }
+
+  void write(List<Pending> batch){
+    jdbc.batchUpdate(INSERT_TX, batch, batch.size(), (ps, p) -> {
+      BulkRow r = p.row();
+      ps.setObject(1, p.id()); ps.setString(2, r.type().name()); ps.setString(3, r.category()); ps.setString(4, r.name());
+      ps.setBigDecimal(5, r.amount()); ps.setObject(6, p.txDate()); ps.setString(7, r.notes()); ps.setObject(8, p.orgId());
+    });
+    List<Object[]> materials = new ArrayList<>();
+    for (Pending p : batch) {
+      if (p.row().materials() != null) p.row().materials().forEach(m -> materials.add(new Object[]{p.id(), m}));
+    }
+    if (!materials.isEmpty()) jdbc.batchUpdate(INSERT_MATERIAL, materials);
+    List<TransactionPosted> posted = batch.stream()
+      .map(p -> new TransactionPosted(p.id(), p.orgId(), p.row().type(), p.row().category(), p.row().amount(), p.txDate())).toList();
+    outbox.appendAll("Transaction", "TransactionCreated", posted, TransactionPosted::id, TransactionPosted::orgId);
+    balances.apply(posted);
+  }
+}
@@ -0,0 +1,4 @@
+package org.sncrwanda.ledger.service;
+import org.sncrwanda.ledger.domain.Transaction;
+import java.time.LocalDate;
+public record TransactionFilter(Transaction.TxType type, String category, LocalDate from, LocalDate to) {}
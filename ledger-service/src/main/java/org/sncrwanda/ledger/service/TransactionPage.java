@@ -0,0 +1,4 @@
+package org.sncrwanda.ledger.service;
+import org.sncrwanda.ledger.domain.Transaction;
+import java.util.List;
+public record TransactionPage(List<Transaction> items, String nextCursor) {}
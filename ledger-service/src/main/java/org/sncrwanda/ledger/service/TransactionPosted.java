@@ -0,0 +1,8 @@
+package org.sncrwanda.ledger.service;
+import org.sncrwanda.ledger.domain.Transaction;
+import java.math.BigDecimal; import java.time.LocalDate; import java.util.UUID;
+public record TransactionPosted(UUID id, UUID orgId, Transaction.TxType type, String category, BigDecimal amount, LocalDate txDate) {
+  public static TransactionPosted of(Transaction t){
+    return new TransactionPosted(t.getId(), t.getOrgId(), t.getType(), t.getCategory(), t.getAmount(), t.getTxDate());
+  }
+}
@@ -0,0 +1,89 @@
+package org.sncrwanda.ledger.service;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.sncrwanda.common.outbox.OutboxWriter;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.ledger.domain.Transaction;
+import org.sncrwanda.ledger.repo.TransactionRepo;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList; import java.util.Base64; import java.util.List; import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+@Service
+public class TransactionService {
+  public static final int MAX_PAGE_SIZE = 200;
+  static final int EXPORT_CHUNK = 500;
+  private final TransactionRepo repo; private final EntityManager em; private final OutboxWriter outbox; private final BalanceService balances;
+  public TransactionService(TransactionRepo repo, EntityManager em, OutboxWriter outbox, BalanceService balances){this.repo=repo; this.em=em; this.outbox=outbox; this.balances=balances;}
+
+  @Transactional
+  public Transaction create(Transaction tx){
+    // Hibernate fills in @TenantId only when the insert is flushed; the posting needs the org now
+    tx.setOrgId(TenantContext.require());
+    Transaction saved = repo.save(tx);
+    TransactionPosted posted = TransactionPosted.of(saved);
+    outbox.append("Transaction", saved.getId(), "TransactionCreated", saved.getOrgId(), posted);
+    balances.apply(List.of(posted));
+    return saved;
+  }
+
+  @Transactional(readOnly=true)
+  public TransactionPage page(TransactionFilter f, String cursor, int size){
+    int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    LocalDate afterDate = null; UUID afterId = null;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        String[] parts = decode(cursor);
+        afterDate = LocalDate.parse(parts[0]); afterId = UUID.fromString(parts[1]);
+      } catch (RuntimeException e) { throw new IllegalArgumentException("Invalid cursor"); }
+    }
+    // fetch one extra row to learn whether another page exists without a count query
+    List<Transaction> rows = repo.findPage(f.type(), f.category(), f.from(), f.to(), afterDate, afterId, limit + 1);
+    boolean more = rows.size() > limit;
+    List<Transaction> items = more ? rows.subList(0, limit) : rows;
+    items.forEach(t -> Hibernate.initialize(t.getMaterials()));
+    String next = more ? encode(items.get(items.size() - 1)) : null;
+    return new TransactionPage(new ArrayList<>(items), next);
+  }
+
+  /**
+   * Pushes every matching row to {@code sink} in (txDate, id) order. Rows are read through a server-side cursor
+   * and the persistence context is cleared every {@value #EXPORT_CHUNK} rows, so memory stays flat regardless of ledger size.
+   * {@code snapshot} first receives the {@code pg_current_snapshot()} all rows are read from, which tells a consumer
+   * whether an outbox event's transaction ({@code ChangeEvent.txId}) is part of the export.
+   */
+  @Transactional(readOnly=true, isolation=Isolation.REPEATABLE_READ)
+  public void export(TransactionFilter f, Consumer<String> snapshot, Consumer<Transaction> sink){
+    // the first statement fixes the snapshot of the whole repeatable-read transaction
+    snapshot.accept((String) em.createNativeQuery("select cast(pg_current_snapshot() as text)").getSingleResult());
+    List<Transaction> chunk = new ArrayList<>(EXPORT_CHUNK);
+    try (Stream<Transaction> rows = repo.streamAll(f.type(), f.category(), f.from(), f.to())) {
+      rows.forEach(t -> { chunk.add(t); if (chunk.size() == EXPORT_CHUNK) flush(chunk, sink); });
+    }
+    flush(chunk, sink);
+  }
+
+  private void flush(List<Transaction> chunk, Consumer<Transaction> sink){
+    // materials are batch-fetched (@BatchSize) for the whole chunk before anything is written
+    chunk.forEach(t -> Hibernate.initialize(t.getMaterials()));
+    chunk.forEach(sink);
+    chunk.clear();
+    em.clear();
+  }
+
+  static String encode(Transaction last){
+    String raw = last.getTxDate() + "|" + last.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static String[] decode(String cursor){
+    String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    String[] parts = raw.split("\\|");
+    if (parts.length != 2) throw new IllegalArgumentException("Invalid cursor");
+    return parts;
+  }
+}
@@ -0,0 +1,21 @@
+package org.sncrwanda.ledger.web;
+import org.sncrwanda.ledger.service.BalanceService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+@RestController @RequestMapping("/ledger/balances")
+public class BalanceController {
+  private final BalanceService service;
+  public BalanceController(BalanceService service){this.service=service;}
+
+  /** Current balance of every category; one row read per category however long the history. */
+  @GetMapping public List<BalanceService.CategoryBalance> current(){ return service.current(); }
+
+  /** Balances at the end of {@code date}, for one category or all of them. */
+  @GetMapping("/as-of")
+  public List<BalanceService.BalanceAsOf> asOf(@RequestParam @DateTimeFormat(iso=DateTimeFormat.ISO.DATE) LocalDate date,
+                                               @RequestParam(required=false) String category){
+    return service.asOf(date, category);
+  }
+}
@@ -1,13 +1,69 @@
 package org.sncrwanda.ledger.web;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import org.sncrwanda.ledger.domain.Transaction;
-import org.sncrwanda.ledger.repo.TransactionRepo;
+import org.sncrwanda.ledger.service.BulkImportService;
+import org.sncrwanda.ledger.service.TransactionFilter;
+import org.sncrwanda.ledger.service.TransactionPage;
+import org.sncrwanda.ledger.service.TransactionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 @RestController @RequestMapping("/ledger/transactions")
 public class TransactionController {
-  private final TransactionRepo repo;
-  public TransactionController(TransactionRepo repo){this.repo=repo;}
-  @PostMapping public ResponseEntity<Transaction> create(@RequestBody Transaction tx){ return ResponseEntity.ok(repo.save(tx)); }
-  @GetMapping public List<Transaction> list(){ return repo.findAll(); }
+  static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+  static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+  static final String SNAPSHOT = "X-Ledger-Snapshot";
+  private final TransactionService service; private final BulkImportService bulk; private final ObjectMapper mapper;
+  public TransactionController(TransactionService service, BulkImportService bulk, ObjectMapper mapper){this.service=service; this.bulk=bulk; this.mapper=mapper;}
+  @PostMapping public ResponseEntity<Transaction> create(@RequestBody Transaction tx){ return ResponseEntity.ok(service.create(tx)); }
+
+  /**
+   * Accepts a JSON array or NDJSON; every row gets a result, invalid rows do not stop the import. With an
+   * Idempotency-Key the import is all-or-nothing and a repeated key replays the first result.
+   */
+  @PostMapping(value="/bulk", consumes={MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+  public ResponseEntity<BulkImportService.Result> bulk(@RequestHeader(value=IDEMPOTENCY_KEY, required=false) String key, InputStream body){
+    if (key == null) return ResponseEntity.ok(bulk.importRows(body));
+    var keyed = bulk.importKeyed(key, body);
+    return ResponseEntity.ok().header(IDEMPOTENT_REPLAYED, String.valueOf(keyed.replayed())).body(keyed.result());
+  }
+
+  @GetMapping public TransactionPage list(@RequestParam(required=false) Transaction.TxType type,
+                                          @RequestParam(required=false) String category,
+                                          @RequestParam(required=false) @DateTimeFormat(iso=DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(required=false) @DateTimeFormat(iso=DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(required=false) String cursor, @RequestParam(defaultValue="50") int size){
+    return service.page(new TransactionFilter(type, category, from, to), cursor, size);
+  }
+
+  /**
+   * NDJSON of every matching row, written on the request's own (virtual) thread so the export's snapshot can go out
+   * as the {@value #SNAPSHOT} header before the first row.
+   */
+  @GetMapping("/export")
+  public void export(@RequestParam(required=false) Transaction.TxType type,
+                     @RequestParam(required=false) String category,
+                     @RequestParam(required=false) @DateTimeFormat(iso=DateTimeFormat.ISO.DATE) LocalDate from,
+                     @RequestParam(required=false) @DateTimeFormat(iso=DateTimeFormat.ISO.DATE) LocalDate to,
+                     HttpServletResponse response) throws IOException {
+    var filter = new TransactionFilter(type, category, from, to);
+    response.setContentType(NDJSON.toString());
+    // one generator for the whole response; flushing per row would turn every line into its own chunk
+    var writer = mapper.writerFor(Transaction.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    try (JsonGenerator gen = mapper.createGenerator(response.getOutputStream())) {
+      gen.setRootValueSeparator(null);
+      service.export(filter, snapshot -> response.setHeader(SNAPSHOT, snapshot), tx -> {
+        try { writer.writeValue(gen, tx); gen.writeRaw('\n'); } catch (IOException e) { throw new UncheckedIOException(e); }
+      });
+    }
+  }
 }
@@ -0,0 +1,18 @@
+-- Ledger schema as Hibernate created it before migrations existed; such databases are baselined at this version.
+
+create table transactions (
+    id       uuid           not null,
+    type     varchar(255)   not null,
+    category varchar(255)   not null,
+    name     varchar(255),
+    amount   numeric(38, 2) not null,
+    tx_date  date           not null,
+    notes    varchar(255),
+    org_id   uuid           not null,
+    primary key (id)
+);
+
+create table transaction_materials (
+    transaction_id uuid not null references transactions (id),
+    item_name      varchar(255)
+);
@@ -0,0 +1,24 @@
+-- Keyed bulk imports and the transactional outbox.
+
+create table import_batches (
+    id              uuid                        not null,
+    org_id          uuid                        not null,
+    idempotency_key varchar(200)                not null,
+    row_count       integer                     not null,
+    created_at      timestamp(6) with time zone not null,
+    result          text,
+    primary key (id),
+    constraint import_batches_org_key_uq unique (org_id, idempotency_key)
+);
+
+create table outbox_events (
+    seq            bigint generated by default as identity primary key,
+    id             uuid         not null,
+    aggregate_type varchar(100) not null,
+    aggregate_id   uuid,
+    event_type     varchar(100) not null,
+    org_id         uuid,
+    payload        text         not null,
+    created_at     timestamp with time zone not null,
+    published_at   timestamp with time zone
+);
@@ -0,0 +1,10 @@
+-- Keyset pages and exports walk (tx_date, id) within one org, optionally narrowed by type or category.
+create index if not exists transactions_org_date_idx on transactions (org_id, tx_date, id);
+create index if not exists transactions_org_category_date_idx on transactions (org_id, category, tx_date);
+create index if not exists transactions_org_type_date_idx on transactions (org_id, type, tx_date);
+
+-- materials are batch-fetched by transaction id
+create index if not exists transaction_materials_tx_idx on transaction_materials (transaction_id);
+
+-- the relay polls unpublished events in sequence order and purges by published_at
+create index if not exists outbox_events_pending_idx on outbox_events (published_at, seq);
@@ -0,0 +1,39 @@
+-- Running balances per org and category, kept up to date by every posting (see BalanceService).
+-- Signed amounts: INCOME adds, EXPENSE and PAYROLL subtract.
+
+create table balances (
+    org_id   uuid           not null,
+    category varchar(255)   not null,
+    balance  numeric(38, 2) not null,
+    tx_count bigint         not null,
+    primary key (org_id, category)
+);
+
+-- net movement per calendar month, keyed by the month's first day
+create table balance_periods (
+    org_id       uuid           not null,
+    category     varchar(255)   not null,
+    period_start date           not null,
+    net          numeric(38, 2) not null,
+    tx_count     bigint         not null,
+    primary key (org_id, category, period_start)
+);
+
+-- closing balance at the end of each finished month; written by BalanceSnapshotter, adjusted by backdated postings
+create table balance_snapshots (
+    org_id       uuid           not null,
+    category     varchar(255)   not null,
+    period_start date           not null,
+    closing      numeric(38, 2) not null,
+    primary key (org_id, category, period_start)
+);
+
+insert into balances (org_id, category, balance, tx_count)
+select org_id, category, sum(case when type = 'INCOME' then amount else -amount end), count(*)
+  from transactions
+ group by org_id, category;
+
+insert into balance_periods (org_id, category, period_start, net, tx_count)
+select org_id, category, cast(date_trunc('month', tx_date) as date), sum(case when type = 'INCOME' then amount else -amount end), count(*)
+  from transactions
+ group by org_id, category, cast(date_trunc('month', tx_date) as date);
@@ -0,0 +1,13 @@
+-- Every outbox subscriber gets its own queue: the relay first copies each new event into one row per subscriber
+-- (dispatched_at marks that step), then claims a batch, publishes it and deletes the rows its subscriber accepted.
+-- A subscriber that is down or slow holds back only its own rows.
+
+alter table outbox_events rename column published_at to dispatched_at;
+
+create table outbox_deliveries (
+    subscriber    varchar(500) not null,
+    seq           bigint       not null,
+    -- set while a relay publishes the row outside any transaction; an expired claim is taken over
+    claimed_until timestamp with time zone,
+    primary key (subscriber, seq)
+);
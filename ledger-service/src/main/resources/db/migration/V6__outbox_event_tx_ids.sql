@@ -0,0 +1,5 @@
+-- Every event records the id of the transaction that wrote it, so a subscriber can check it against a snapshot
+-- of this database (see ChangeEvent.txId). Events written before this migration keep null.
+
+alter table outbox_events add column tx_id bigint;
+alter table outbox_events alter column tx_id set default (pg_current_xact_id()::text::bigint);
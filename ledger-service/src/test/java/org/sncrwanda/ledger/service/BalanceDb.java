@@ -0,0 +1,69 @@
+package org.sncrwanda.ledger.service;
+import org.h2.jdbcx.JdbcDataSource;
+import org.sncrwanda.ledger.domain.Transaction;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+/**
+ * A fresh in-memory H2 database in PostgreSQL mode holding only the balance tables, for tests that drive
+ * {@link BalanceService} and {@link BalanceSnapshotter} with plain JDBC. Row locks wait up to ten seconds, so
+ * concurrent postings queue instead of failing.
+ */
+final class BalanceDb {
+  final JdbcTemplate jdbc; final DataSourceTransactionManager txManager; final TransactionTemplate tx;
+  final BalanceService balances; final BalanceSnapshotter snapshotter;
+
+  BalanceDb(){
+    JdbcDataSource ds = new JdbcDataSource();
+    ds.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1");
+    new ResourceDatabasePopulator(new ClassPathResource("balances-schema.sql")).execute(ds);
+    jdbc = new JdbcTemplate(ds); txManager = new DataSourceTransactionManager(ds); tx = new TransactionTemplate(txManager);
+    balances = new BalanceService(jdbc); snapshotter = new BalanceSnapshotter(jdbc, txManager);
+  }
+
+  /** Posts in a transaction of its own, as {@code TransactionService.create} does. */
+  void post(UUID orgId, String category, Transaction.TxType type, String amount, LocalDate txDate){
+    tx.executeWithoutResult(s -> balances.apply(List.of(posting(orgId, category, type, amount, txDate))));
+  }
+
+  static TransactionPosted posting(UUID orgId, String category, Transaction.TxType type, String amount, LocalDate txDate){
+    return new TransactionPosted(UUID.randomUUID(), orgId, type, category, new BigDecimal(amount), txDate);
+  }
+
+  BigDecimal balance(UUID orgId, String category){
+    return jdbc.queryForObject("select balance from balances where org_id = ? and category = ?", BigDecimal.class, orgId, category);
+  }
+
+  long txCount(UUID orgId, String category){
+    return jdbc.queryForObject("select tx_count from balances where org_id = ? and category = ?", Long.class, orgId, category);
+  }
+
+  BigDecimal net(UUID orgId, String category, LocalDate month){
+    return jdbc.queryForObject("select net from balance_periods where org_id = ? and category = ? and period_start = ?", BigDecimal.class, orgId, category, month);
+  }
+
+  /** Closing snapshots by month, oldest first. */
+  Map<LocalDate, BigDecimal> closings(UUID orgId, String category){
+    Map<LocalDate, BigDecimal> closings = new TreeMap<>();
+    jdbc.query("select period_start, closing from balance_snapshots where org_id = ? and category = ?",
+      rs -> { closings.put(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2)); }, orgId, category);
+    return closings;
+  }
+
+  /** What every snapshot must equal: the sum of the monthly nets up to and including its month. */
+  Map<LocalDate, BigDecimal> expectedClosings(UUID orgId, String category){
+    Map<LocalDate, BigDecimal> nets = new TreeMap<>();
+    jdbc.query("select period_start, net from balance_periods where org_id = ? and category = ?",
+      rs -> { nets.put(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2)); }, orgId, category);
+    Map<LocalDate, BigDecimal> expected = new TreeMap<>();
+    for (LocalDate m : closings(orgId, category).keySet()) {
+      expected.put(m, nets.entrySet().stream().filter(n -> !n.getKey().isAfter(m)).map(Map.Entry::getValue).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+    return expected;
+  }
+}
@@ -0,0 +1,60 @@
+package org.sncrwanda.ledger.service;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sncrwanda.ledger.domain.Transaction.TxType.*;
+class BalanceServiceTest {
+  static final UUID ORG = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+  final BalanceDb db = new BalanceDb();
+
+  @Test
+  void signsIncomeUpAndExpensesAndPayrollDown(){
+    LocalDate day = LocalDate.of(2026, 3, 10);
+    db.post(ORG, "food", INCOME, "100.00", day);
+    db.post(ORG, "food", EXPENSE, "30.00", day);
+    db.post(ORG, "food", PAYROLL, "20.00", day);
+    assertThat(db.balance(ORG, "food")).isEqualByComparingTo("50.00");
+    assertThat(db.txCount(ORG, "food")).isEqualTo(3);
+    assertThat(db.net(ORG, "food", day.withDayOfMonth(1))).isEqualByComparingTo("50.00");
+  }
+
+  @Test
+  void concurrentPostingsToOneCategoryLoseNoUpdate() throws Exception {
+    int threads = 8, postsEach = 50;
+    LocalDate day = LocalDate.of(2026, 3, 10);
+    CountDownLatch start = new CountDownLatch(1);
+    try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+      List<Future<?>> running = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        running.add(pool.submit(() -> {
+          start.await();
+          // the first postings race to create the balance and period rows as well
+          for (int i = 0; i < postsEach; i++) db.post(ORG, "food", INCOME, "1.00", day);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> f : running) f.get(1, TimeUnit.MINUTES);
+    }
+    assertThat(db.balance(ORG, "food")).isEqualByComparingTo(BigDecimal.valueOf(threads * postsEach));
+    assertThat(db.txCount(ORG, "food")).isEqualTo(threads * postsEach);
+    assertThat(db.net(ORG, "food", day.withDayOfMonth(1))).isEqualByComparingTo(BigDecimal.valueOf(threads * postsEach));
+  }
+
+  @Test
+  void batchOfPostingsIsGroupedPerCategoryAndMonth(){
+    db.tx.executeWithoutResult(s -> db.balances.apply(List.of(
+      BalanceDb.posting(ORG, "food", INCOME, "10.00", LocalDate.of(2026, 1, 5)),
+      BalanceDb.posting(ORG, "food", EXPENSE, "4.00", LocalDate.of(2026, 1, 20)),
+      BalanceDb.posting(ORG, "food", INCOME, "7.00", LocalDate.of(2026, 2, 1)),
+      BalanceDb.posting(ORG, "rent", EXPENSE, "3.00", LocalDate.of(2026, 1, 9)))));
+    assertThat(db.balance(ORG, "food")).isEqualByComparingTo("13.00");
+    assertThat(db.txCount(ORG, "food")).isEqualTo(3);
+    assertThat(db.net(ORG, "food", LocalDate.of(2026, 1, 1))).isEqualByComparingTo("6.00");
+    assertThat(db.net(ORG, "food", LocalDate.of(2026, 2, 1))).isEqualByComparingTo("7.00");
+    assertThat(db.balance(ORG, "rent")).isEqualByComparingTo("-3.00");
+  }
+}
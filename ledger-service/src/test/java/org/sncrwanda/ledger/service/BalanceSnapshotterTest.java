@@ -0,0 +1,110 @@
+package org.sncrwanda.ledger.service;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sncrwanda.ledger.domain.Transaction.TxType.*;
+class BalanceSnapshotterTest {
+  static final UUID ORG = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+  static final LocalDate JAN = LocalDate.of(2026, 1, 1), FEB = LocalDate.of(2026, 2, 1), MAR = LocalDate.of(2026, 3, 1);
+  final BalanceDb db = new BalanceDb();
+
+  @Test
+  void writesAClosingForEveryFinishedMonthIncludingEmptyOnes(){
+    db.post(ORG, "food", INCOME, "100.00", JAN.plusDays(4));
+    db.post(ORG, "food", EXPENSE, "40.00", MAR.plusDays(9));
+    assertThat(db.snapshotter.snapshotThrough(YearMonth.of(2026, 3))).isEqualTo(3);
+    assertThat(db.closings(ORG, "food")).containsOnlyKeys(JAN, FEB, MAR);
+    assertThat(db.closings(ORG, "food").get(FEB)).isEqualByComparingTo("100.00");
+    assertThat(db.closings(ORG, "food").get(MAR)).isEqualByComparingTo("60.00");
+    // idempotent: nothing left to write
+    assertThat(db.snapshotter.snapshotThrough(YearMonth.of(2026, 3))).isZero();
+  }
+
+  @Test
+  void backdatedPostingAdjustsEveryLaterSnapshot(){
+    db.post(ORG, "food", INCOME, "100.00", JAN.plusDays(4));
+    db.post(ORG, "food", EXPENSE, "10.00", FEB.plusDays(4));
+    db.snapshotter.snapshotThrough(YearMonth.of(2026, 2));
+
+    db.post(ORG, "food", EXPENSE, "25.00", JAN.plusDays(20));
+    assertThat(db.closings(ORG, "food").get(JAN)).isEqualByComparingTo("75.00");
+    assertThat(db.closings(ORG, "food").get(FEB)).isEqualByComparingTo("65.00");
+
+    // March is caught up from the adjusted February closing
+    db.post(ORG, "food", INCOME, "5.00", MAR.plusDays(1));
+    db.snapshotter.snapshotThrough(YearMonth.of(2026, 3));
+    assertThat(db.closings(ORG, "food").get(MAR)).isEqualByComparingTo("70.00");
+    assertThat(db.closings(ORG, "food")).isEqualTo(db.expectedClosings(ORG, "food"));
+  }
+
+  @Test
+  void snapshotWaitsForABackdatedPostingThatHoldsTheBalanceRow() throws Exception {
+    db.post(ORG, "food", INCOME, "100.00", JAN.plusDays(4));
+    CountDownLatch applied = new CountDownLatch(1), commit = new CountDownLatch(1);
+    try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+      Future<?> posting = pool.submit(() -> db.tx.executeWithoutResult(s -> {
+        db.balances.apply(List.of(BalanceDb.posting(ORG, "food", EXPENSE, "30.00", JAN.plusDays(9))));
+        applied.countDown();
+        await(commit);
+      }));
+      assertThat(applied.await(10, TimeUnit.SECONDS)).isTrue();
+      Future<Integer> snapshot = pool.submit(() -> db.snapshotter.snapshotThrough(YearMonth.of(2026, 2)));
+      // the snapshotter must block on the balances row rather than read January's net without the posting
+      assertThat(catchTimeout(snapshot)).isTrue();
+      commit.countDown();
+      posting.get(10, TimeUnit.SECONDS);
+      assertThat(snapshot.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+    }
+    assertThat(db.closings(ORG, "food").get(JAN)).isEqualByComparingTo("70.00");
+    assertThat(db.closings(ORG, "food").get(FEB)).isEqualByComparingTo("70.00");
+  }
+
+  @Test
+  void backdatedPostingsRacingSnapshotsLeaveEveryClosingConsistent() throws Exception {
+    db.post(ORG, "food", INCOME, "1000.00", JAN.plusDays(1));
+    int posters = 4, postsEach = 40;
+    CountDownLatch start = new CountDownLatch(1);
+    try (ExecutorService pool = Executors.newFixedThreadPool(posters + 1)) {
+      List<Future<?>> running = new ArrayList<>();
+      for (int t = 0; t < posters; t++) {
+        running.add(pool.submit(() -> {
+          start.await();
+          Random r = new Random();
+          for (int i = 0; i < postsEach; i++) db.post(ORG, "food", EXPENSE, "1.00", JAN.plusMonths(r.nextInt(3)).plusDays(r.nextInt(28)));
+          return null;
+        }));
+      }
+      running.add(pool.submit(() -> {
+        start.await();
+        for (int m = 1; m <= 12; m++) db.snapshotter.snapshotThrough(YearMonth.of(2026, m));
+        return null;
+      }));
+      start.countDown();
+      for (Future<?> f : running) f.get(1, TimeUnit.MINUTES);
+    }
+    db.snapshotter.snapshotThrough(YearMonth.of(2026, 12));
+    assertThat(db.closings(ORG, "food")).hasSize(12).isEqualTo(db.expectedClosings(ORG, "food"));
+    assertThat(db.closings(ORG, "food").get(LocalDate.of(2026, 12, 1))).isEqualByComparingTo(db.balance(ORG, "food"));
+  }
+
+  private static boolean catchTimeout(Future<?> f) throws Exception {
+    try {
+      f.get(500, TimeUnit.MILLISECONDS);
+      return false;
+    } catch (TimeoutException e) {
+      return true;
+    }
+  }
+
+  private static void await(CountDownLatch latch){
+    try {
+      if (!latch.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("Timed out");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package org.sncrwanda.ledger.service;
+import org.junit.jupiter.api.Test;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.assertj.core.api.Assertions.assertThat;
+/** The keyed import payroll runs post through: retrying a key replays the first result instead of posting again. */
+@SpringBootTest(webEnvironment=SpringBootTest.WebEnvironment.NONE) @ActiveProfiles("test")
+class KeyedImportTest {
+  static final String PAYROLL = """
+    [{"type":"PAYROLL","category":"payroll","name":"Salary A","amount":250000.00,"txDate":"2026-09-30"},
+     {"type":"PAYROLL","category":"payroll","name":"Salary B","amount":310000.00,"txDate":"2026-09-30"}]""";
+
+  @Autowired BulkImportService imports;
+  @Autowired JdbcTemplate jdbc;
+
+  @Test
+  void retryWithTheSameKeyReplaysWithoutPostingAgain(){
+    UUID org = UUID.randomUUID();
+    BulkImportService.Keyed first = importAs(org, "payroll-run-1", PAYROLL);
+    BulkImportService.Keyed retry = importAs(org, "payroll-run-1", PAYROLL);
+
+    assertThat(first.replayed()).isFalse();
+    assertThat(first.result().created()).isEqualTo(2);
+    assertThat(retry.replayed()).isTrue();
+    assertThat(retry.result().created()).isEqualTo(2);
+    assertThat(retry.result().rows()).extracting(BulkImportService.RowResult::id)
+      .isEqualTo(first.result().rows().stream().map(BulkImportService.RowResult::id).toList());
+    assertThat(transactions(org)).isEqualTo(2);
+    assertThat(balance(org)).isEqualByComparingTo("-560000.00");
+  }
+
+  @Test
+  void concurrentRetriesPostOnce() throws Exception {
+    UUID org = UUID.randomUUID();
+    int callers = 4;
+    CountDownLatch start = new CountDownLatch(1);
+    List<BulkImportService.Keyed> results = new ArrayList<>();
+    try (ExecutorService pool = Executors.newFixedThreadPool(callers)) {
+      List<Future<BulkImportService.Keyed>> running = new ArrayList<>();
+      for (int i = 0; i < callers; i++) running.add(pool.submit(() -> { start.await(); return importAs(org, "payroll-run-2", PAYROLL); }));
+      start.countDown();
+      for (Future<BulkImportService.Keyed> f : running) results.add(f.get(1, TimeUnit.MINUTES));
+    }
+    assertThat(results).allSatisfy(k -> assertThat(k.result().created()).isEqualTo(2));
+    assertThat(results).filteredOn(k -> !k.replayed()).hasSize(1);
+    assertThat(transactions(org)).isEqualTo(2);
+  }
+
+  @Test
+  void sameKeyInAnotherOrgIsItsOwnImport(){
+    UUID org = UUID.randomUUID(), other = UUID.randomUUID();
+    importAs(org, "payroll-run-3", PAYROLL);
+    assertThat(importAs(other, "payroll-run-3", PAYROLL).replayed()).isFalse();
+    assertThat(transactions(other)).isEqualTo(2);
+  }
+
+  @Test
+  void invalidImportWritesNothingSoTheKeyCanBeRetried(){
+    UUID org = UUID.randomUUID();
+    BulkImportService.Keyed rejected = importAs(org, "payroll-run-4", "[{\"type\":\"PAYROLL\",\"category\":\"payroll\",\"amount\":-1}]");
+    assertThat(rejected.result().rejected()).isEqualTo(1);
+    assertThat(transactions(org)).isZero();
+    assertThat(importAs(org, "payroll-run-4", PAYROLL).replayed()).isFalse();
+    assertThat(transactions(org)).isEqualTo(2);
+  }
+
+  private BulkImportService.Keyed importAs(UUID org, String key, String json){
+    try {
+      return TenantContext.callAs(org, () -> imports.importKeyed(key, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private int transactions(UUID org){
+    return jdbc.queryForObject("select count(*) from transactions where org_id = ?", Integer.class, org);
+  }
+
+  private BigDecimal balance(UUID org){
+    return jdbc.queryForObject("select balance from balances where org_id = ? and category = 'payroll'", BigDecimal.class, org);
+  }
+}
@@ -0,0 +1,87 @@
+package org.sncrwanda.ledger.service;
+import org.junit.jupiter.api.Test;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.ledger.domain.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+@SpringBootTest(webEnvironment=SpringBootTest.WebEnvironment.NONE) @ActiveProfiles("test")
+class TransactionPagingTest {
+  static final String[] CATEGORIES = {"food", "transport", "utilities"};
+  // newest first, ties on the date broken by id; uuid order is unsigned byte order, as in Postgres
+  static final Comparator<Transaction> PAGE_ORDER = Comparator.comparing(Transaction::getTxDate)
+    .thenComparing(t -> t.getId().toString()).reversed();
+
+  @Autowired TransactionService service;
+
+  @Test
+  void pagesVisitEveryRowOnceInOrder(){
+    UUID org = UUID.randomUUID();
+    List<Transaction> all = seed(org, 60);
+    seed(UUID.randomUUID(), 10); // another org's rows never show up
+    assertThat(pageThrough(org, new TransactionFilter(null, null, null, null), 7))
+      .isEqualTo(expected(all, t -> true));
+  }
+
+  @Test
+  void pagesOnlyTheFiltersGiven(){
+    UUID org = UUID.randomUUID();
+    List<Transaction> all = seed(org, 80);
+    LocalDate from = LocalDate.of(2026, 3, 3), to = LocalDate.of(2026, 3, 7);
+    assertThat(pageThrough(org, new TransactionFilter(Transaction.TxType.EXPENSE, "food", null, null), 4))
+      .isEqualTo(expected(all, t -> t.getType() == Transaction.TxType.EXPENSE && t.getCategory().equals("food")));
+    assertThat(pageThrough(org, new TransactionFilter(null, "transport", from, to), 3))
+      .isEqualTo(expected(all, t -> t.getCategory().equals("transport") && !t.getTxDate().isBefore(from) && !t.getTxDate().isAfter(to)));
+    assertThat(pageThrough(org, new TransactionFilter(Transaction.TxType.INCOME, null, from, null), 5))
+      .isEqualTo(expected(all, t -> t.getType() == Transaction.TxType.INCOME && !t.getTxDate().isBefore(from)));
+  }
+
+  @Test
+  void rejectsACursorItDidNotIssue(){
+    TenantContext.runAs(UUID.randomUUID(), () ->
+      assertThatThrownBy(() -> service.page(new TransactionFilter(null, null, null, null), "not-a-cursor", 10))
+        .isInstanceOf(IllegalArgumentException.class));
+  }
+
+  private List<Transaction> seed(UUID org, int rows){
+    Random r = new Random(rows);
+    List<Transaction> created = new ArrayList<>();
+    TenantContext.runAs(org, () -> {
+      for (int i = 0; i < rows; i++) {
+        Transaction t = new Transaction();
+        t.setType(r.nextBoolean() ? Transaction.TxType.INCOME : Transaction.TxType.EXPENSE);
+        t.setCategory(CATEGORIES[r.nextInt(CATEGORIES.length)]);
+        t.setName("tx " + i);
+        t.setAmount(BigDecimal.valueOf(1 + r.nextInt(1000)));
+        // ten days for many rows, so most pages end inside a run of equal dates
+        t.setTxDate(LocalDate.of(2026, 3, 1 + r.nextInt(10)));
+        created.add(service.create(t));
+      }
+    });
+    return created;
+  }
+
+  private List<UUID> pageThrough(UUID org, TransactionFilter filter, int size){
+    List<UUID> seen = new ArrayList<>();
+    TenantContext.runAs(org, () -> {
+      String cursor = null;
+      do {
+        TransactionPage page = service.page(filter, cursor, size);
+        assertThat(page.items()).hasSizeLessThanOrEqualTo(size);
+        page.items().forEach(t -> seen.add(t.getId()));
+        cursor = page.nextCursor();
+      } while (cursor != null);
+    });
+    return seen;
+  }
+
+  private static List<UUID> expected(List<Transaction> all, Predicate<Transaction> filter){
+    return all.stream().filter(filter).sorted(PAGE_ORDER).map(Transaction::getId).toList();
+  }
+}
@@ -0,0 +1,23 @@
+-- the balance tables of db/migration/V4__balances.sql, without the backfill from transactions
+create table balances (
+    org_id   uuid           not null,
+    category varchar(255)   not null,
+    balance  numeric(38, 2) not null,
+    tx_count bigint         not null,
+    primary key (org_id, category)
+);
+create table balance_periods (
+    org_id       uuid           not null,
+    category     varchar(255)   not null,
+    period_start date           not null,
+    net          numeric(38, 2) not null,
+    tx_count     bigint         not null,
+    primary key (org_id, category, period_start)
+);
+create table balance_snapshots (
+    org_id       uuid           not null,
+    category     varchar(255)   not null,
+    period_start date           not null,
+    closing      numeric(38, 2) not null,
+    primary key (org_id, category, period_start)
+);
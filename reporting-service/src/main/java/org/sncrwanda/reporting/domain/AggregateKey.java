@@ -0,0 +1,11 @@
+package org.sncrwanda.reporting.domain;
+import jakarta.persistence.*; import lombok.*;
+import java.io.Serializable; import java.time.LocalDate; import java.util.UUID;
+@Embeddable @Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+public class AggregateKey implements Serializable {
+  @Column(nullable=false) private UUID orgId;
+  /** First day of the bucket's month. */
+  @Column(nullable=false) private LocalDate monthStart;
+  @Enumerated(EnumType.STRING) @Column(nullable=false) private TxType type;
+  @Column(nullable=false) private String category;
+}
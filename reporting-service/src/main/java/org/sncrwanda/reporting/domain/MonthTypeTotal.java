@@ -0,0 +1,3 @@
+package org.sncrwanda.reporting.domain;
+import java.math.BigDecimal; import java.time.LocalDate;
+public record MonthTypeTotal(LocalDate monthStart, TxType type, BigDecimal total, long count) {}
@@ -0,0 +1,10 @@
+package org.sncrwanda.reporting.domain;
+import jakarta.persistence.*; import lombok.Getter; import lombok.NoArgsConstructor; import lombok.Setter;
+import java.time.Instant; import java.util.UUID;
+/** Ids of change events already folded into the aggregates, as the outbox relay delivers at-least-once. */
+@Entity @Table(name="processed_events", indexes=@Index(columnList="processedAt")) @Getter @Setter @NoArgsConstructor
+public class ProcessedEvent {
+  @Id private UUID id;
+  @Column(nullable=false) private Instant processedAt;
+  public ProcessedEvent(UUID id, Instant processedAt){this.id=id; this.processedAt=processedAt;}
+}
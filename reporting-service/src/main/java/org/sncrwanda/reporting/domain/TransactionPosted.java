@@ -0,0 +1,4 @@
+package org.sncrwanda.reporting.domain;
+import java.math.BigDecimal; import java.time.LocalDate; import java.util.UUID;
+/** The slice of a ledger transaction the aggregates need; also the shape of each ledger export line. */
+public record TransactionPosted(UUID id, UUID orgId, TxType type, String category, BigDecimal amount, LocalDate txDate) {}
@@ -0,0 +1,9 @@
+package org.sncrwanda.reporting.domain;
+import jakarta.persistence.*; import lombok.Getter; import lombok.Setter;
+import java.math.BigDecimal;
+@Entity @Table(name="tx_aggregates") @Getter @Setter
+public class TxAggregate {
+  @EmbeddedId private AggregateKey key;
+  @Column(nullable=false) private BigDecimal total = BigDecimal.ZERO;
+  @Column(nullable=false) private long txCount;
+}
@@ -0,0 +1,5 @@
+package org.sncrwanda.reporting.domain;
+/** Mirrors ledger-service {@code Transaction.TxType}; PAYROLL counts as an expense in every report. */
+public enum TxType { INCOME, EXPENSE, PAYROLL;
+  public boolean isExpense(){ return this != INCOME; }
+}
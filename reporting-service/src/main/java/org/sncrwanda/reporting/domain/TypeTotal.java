@@ -0,0 +1,3 @@
+package org.sncrwanda.reporting.domain;
+import java.math.BigDecimal;
+public record TypeTotal(TxType type, BigDecimal total, long count) {}
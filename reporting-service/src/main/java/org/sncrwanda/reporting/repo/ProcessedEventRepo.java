@@ -0,0 +1,13 @@
+package org.sncrwanda.reporting.repo;
+import org.sncrwanda.reporting.domain.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant; import java.util.Collection; import java.util.List; import java.util.UUID;
+public interface ProcessedEventRepo extends JpaRepository<ProcessedEvent, UUID> {
+  @Query("select p.id from ProcessedEvent p where p.id in :ids")
+  List<UUID> findSeen(@Param("ids") Collection<UUID> ids);
+  @Modifying @Query("delete from ProcessedEvent p where p.processedAt < :before")
+  int purgeBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,38 @@
+package org.sncrwanda.reporting.repo;
+import org.sncrwanda.reporting.domain.*;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal; import java.time.LocalDate; import java.util.List; import java.util.UUID;
+public interface TxAggregateRepo extends JpaRepository<TxAggregate, AggregateKey> {
+  String RANGE = " where a.key.orgId = :orgId and a.key.monthStart between :from and :to";
+
+  @Query("select new org.sncrwanda.reporting.domain.TypeTotal(a.key.type, sum(a.total), sum(a.txCount)) from TxAggregate a" + RANGE
+    + " group by a.key.type")
+  List<TypeTotal> totalsByType(@Param("orgId") UUID orgId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query("select new org.sncrwanda.reporting.domain.MonthTypeTotal(a.key.monthStart, a.key.type, sum(a.total), sum(a.txCount)) from TxAggregate a" + RANGE
+    + " group by a.key.monthStart, a.key.type order by a.key.monthStart")
+  List<MonthTypeTotal> totalsByMonth(@Param("orgId") UUID orgId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Query("select new org.sncrwanda.reporting.domain.CategoryTotal(a.key.category, a.key.type, sum(a.total), sum(a.txCount)) from TxAggregate a" + RANGE
+    + " and (:type is null or a.key.type = :type) group by a.key.category, a.key.type order by sum(a.total) desc")
+  List<CategoryTotal> totalsByCategory(@Param("orgId") UUID orgId, @Param("from") LocalDate from, @Param("to") LocalDate to, @Param("type") TxType type);
+
+  // Two statements instead of a single ON CONFLICT ... DO UPDATE: the insert only guarantees the row exists,
+  // the update then takes the row lock, so concurrent deltas serialise on the bucket and none is lost.
+  @Modifying
+  @Query(value="insert into tx_aggregates (org_id, month_start, type, category, total, tx_count) values (:orgId, :monthStart, :type, :category, 0, 0)"
+    + " on conflict do nothing", nativeQuery=true)
+  void ensureBucket(@Param("orgId") UUID orgId, @Param("monthStart") LocalDate monthStart, @Param("type") String type, @Param("category") String category);
+
+  @Modifying
+  @Query(value="update tx_aggregates set total = total + :amount, tx_count = tx_count + :count"
+    + " where org_id = :orgId and month_start = :monthStart and type = :type and category = :category", nativeQuery=true)
+  void addToBucket(@Param("orgId") UUID orgId, @Param("monthStart") LocalDate monthStart, @Param("type") String type, @Param("category") String category,
+                   @Param("amount") BigDecimal amount, @Param("count") long count);
+
+  @Modifying @Query("delete from TxAggregate a where a.key.orgId = :orgId")
+  int deleteByOrg(@Param("orgId") UUID orgId);
+}
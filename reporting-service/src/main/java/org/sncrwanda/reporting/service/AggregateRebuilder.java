@@ -0,0 +1,63 @@
+package org.sncrwanda.reporting.service;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.reporting.domain.AggregateKey;
+import org.sncrwanda.reporting.domain.TransactionPosted;
+import org.sncrwanda.reporting.domain.TxAggregate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import java.util.HashMap; import java.util.Map; import java.util.UUID;
+/**
+ * Backfill mode: streams the ledger NDJSON export and recomputes the buckets from scratch.
+ * Only the buckets are held in memory, never the transactions, and no lock or transaction is held while the export is
+ * read; events keep being applied meanwhile and are journaled. The swap then takes the org's exclusive aggregate lock
+ * just long enough to reconcile the journal against the export's snapshot and replace the buckets.
+ */
+@Component
+public class AggregateRebuilder {
+  public record RebuildResult(UUID orgId, long transactions, int buckets) {}
+  record Export(long rows, String snapshot) {}
+  /** Set by ledger-service on its export: the {@code pg_current_snapshot()} the rows were read from. */
+  static final String SNAPSHOT = "X-Ledger-Snapshot";
+  private final AggregateService aggregates; private final ObjectMapper mapper; private final RestClient ledger;
+  public AggregateRebuilder(AggregateService aggregates, ObjectMapper mapper, RestClient.Builder http,
+                            @Value("${sncrwanda.ledger.url:http://localhost:8082}") String ledgerUrl){
+    this.aggregates=aggregates; this.mapper=mapper; this.ledger=http.baseUrl(ledgerUrl).build();
+  }
+
+  /**
+   * {@code authorization} is the caller's bearer header, forwarded because ledger-service verifies tokens too.
+   * The ledger scopes its export to the org, so one rebuild covers exactly one org.
+   */
+  public RebuildResult rebuild(UUID orgId, String authorization){
+    aggregates.beginRebuild(orgId);
+    try {
+      Map<AggregateKey, TxAggregate> buckets = new HashMap<>();
+      Export export = read(orgId, authorization, buckets);
+      aggregates.finishRebuild(orgId, export.snapshot(), buckets);
+      return new RebuildResult(orgId, export.rows(), buckets.size());
+    } catch (RuntimeException e) {
+      aggregates.abortRebuild(orgId);
+      throw e;
+    }
+  }
+
+  Export read(UUID orgId, String authorization, Map<AggregateKey, TxAggregate> buckets){
+    return ledger.get()
+      .uri("/ledger/transactions/export")
+      .headers(h -> { h.set(TenantContext.HEADER, orgId.toString()); if (authorization != null) h.set(HttpHeaders.AUTHORIZATION, authorization); })
+      .exchange((req, res) -> {
+        if (res.getStatusCode().isError()) throw new IllegalStateException("Ledger export failed: " + res.getStatusCode());
+        String snapshot = res.getHeaders().getFirst(SNAPSHOT);
+        if (snapshot == null) throw new IllegalStateException("Ledger export carried no " + SNAPSHOT);
+        long n = 0;
+        try (MappingIterator<TransactionPosted> it = mapper.readerFor(TransactionPosted.class).readValues(res.getBody())) {
+          while (it.hasNext()) { AggregateService.fold(it.next(), buckets); n++; }
+        }
+        return new Export(n, snapshot);
+      });
+  }
+}
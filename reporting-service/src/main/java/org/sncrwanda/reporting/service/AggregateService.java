@@ -0,0 +1,177 @@
+package org.sncrwanda.reporting.service;
+import jakarta.persistence.EntityManager;
+import org.sncrwanda.reporting.domain.*;
+import org.sncrwanda.reporting.repo.TxAggregateRepo;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration; import java.time.Instant; import java.time.LocalDate; import java.time.YearMonth;
+import java.util.*;
+@Service
+public class AggregateService {
+  static final LocalDate MIN_MONTH = LocalDate.of(1900, 1, 1);
+  static final LocalDate MAX_MONTH = LocalDate.of(9999, 12, 1);
+  public record Summary(BigDecimal incomeTotal, BigDecimal expenseTotal, BigDecimal net) {}
+  public record MonthPoint(YearMonth month, BigDecimal income, BigDecimal expense, BigDecimal net) {}
+  static final String LOCK_ORG = "select pg_advisory_xact_lock(?)";
+  static final String LOCK_ORG_SHARED = "select pg_advisory_xact_lock_shared(?)";
+  static final String REBUILD_STATE = "select ledger_snapshot, pending_since from aggregate_rebuilds where org_id = ?";
+  static final String BEGIN_REBUILD = "insert into aggregate_rebuilds (org_id, pending_since) values (?, ?)"
+    + " on conflict (org_id) do update set pending_since = excluded.pending_since";
+  static final String FINISH_REBUILD = "update aggregate_rebuilds set ledger_snapshot = ?, pending_since = null where org_id = ?";
+  static final String ABORT_REBUILD = "update aggregate_rebuilds set pending_since = null where org_id = ?";
+  static final String JOURNAL = "insert into rebuild_journal (org_id, tx_id, month_start, type, category, amount) values (?, ?, ?, ?, ?, ?)";
+  static final String READ_JOURNAL = "select tx_id, month_start, type, category, amount from rebuild_journal where org_id = ?";
+  static final String CLEAR_JOURNAL = "delete from rebuild_journal where org_id = ?";
+  /** A rebuild pending this long is taken to have died and may be replaced. */
+  static final Duration STALE_REBUILD = Duration.ofHours(1);
+
+  /** An org's last rebuild snapshot, if any, and whether a rebuild is reading the export right now. */
+  record RebuildState(LedgerSnapshot snapshot, boolean pending) {
+    /** True when the last rebuild's export already counted the transaction that wrote this event. */
+    boolean counted(Long txId){ return snapshot != null && snapshot.includes(txId); }
+  }
+  record Journaled(Long txId, TransactionPosted posted) {}
+
+  private final TxAggregateRepo repo; private final EntityManager em; private final JdbcTemplate jdbc;
+  public AggregateService(TxAggregateRepo repo, EntityManager em, JdbcTemplate jdbc){this.repo=repo; this.em=em; this.jdbc=jdbc;}
+
+  /**
+   * Event batches hold the shared lock of every org they touch, rebuild steps its org's exclusive one, each until its
+   * transaction ends. A batch therefore sees an org's rebuild state as it is for the whole batch.
+   */
+  public void lockShared(Collection<UUID> orgIds){
+    // sorted, though shared holders cannot deadlock with each other and a rebuild takes a single lock
+    orgIds.stream().map(AggregateService::lockKey).sorted().forEach(k -> jdbc.query(LOCK_ORG_SHARED, rs -> null, k));
+  }
+
+  public void lockExclusive(UUID orgId){
+    jdbc.query(LOCK_ORG, rs -> null, lockKey(orgId));
+  }
+
+  Map<UUID, RebuildState> rebuildStates(Collection<UUID> orgIds){
+    Map<UUID, RebuildState> states = new HashMap<>();
+    for (UUID orgId : orgIds) {
+      jdbc.query(REBUILD_STATE, rs -> {
+        String snapshot = rs.getString(1);
+        states.put(orgId, new RebuildState(snapshot == null ? null : LedgerSnapshot.parse(snapshot), rs.getTimestamp(2) != null));
+      }, orgId);
+    }
+    return states;
+  }
+
+  /** Marks {@code orgId} as being rebuilt: from here on, event batches journal what they apply to it. */
+  @Transactional
+  public void beginRebuild(UUID orgId){
+    lockExclusive(orgId);
+    Instant now = Instant.now();
+    Timestamp pending = jdbc.query(REBUILD_STATE, rs -> rs.next() ? rs.getTimestamp(2) : null, orgId);
+    if (pending != null && pending.toInstant().isAfter(now.minus(STALE_REBUILD)))
+      throw new RebuildConflictException("A rebuild of org " + orgId + " is already running");
+    jdbc.update(BEGIN_REBUILD, orgId, Timestamp.from(now));
+    jdbc.update(CLEAR_JOURNAL, orgId);
+  }
+
+  @Transactional
+  public void journal(List<Journaled> applied){
+    jdbc.batchUpdate(JOURNAL, applied.stream().map(j -> { var p = j.posted();
+      return new Object[]{p.orgId(), j.txId(), p.txDate().withDayOfMonth(1), p.type().name(), p.category(), p.amount()}; }).toList());
+  }
+
+  /**
+   * Swaps in the buckets a rebuild computed from the export read under {@code snapshot}, plus the journaled events
+   * that snapshot did not include, and keeps {@code snapshot} as the org's high-water mark: later deliveries of events
+   * it includes are skipped. Runs under the org's exclusive lock, but only for as long as the swap itself takes.
+   */
+  @Transactional
+  public void finishRebuild(UUID orgId, String snapshot, Map<AggregateKey, TxAggregate> buckets){
+    lockExclusive(orgId);
+    LedgerSnapshot read = LedgerSnapshot.parse(snapshot);
+    jdbc.query(READ_JOURNAL, rs -> {
+      if (read.includes(rs.getObject(1, Long.class))) return;
+      fold(new TransactionPosted(null, orgId, TxType.valueOf(rs.getString(3)), rs.getString(4), rs.getBigDecimal(5),
+        rs.getObject(2, LocalDate.class)), buckets);
+    }, orgId);
+    replace(orgId, buckets.values());
+    jdbc.update(FINISH_REBUILD, snapshot, orgId);
+    jdbc.update(CLEAR_JOURNAL, orgId);
+  }
+
+  /** Drops a failed rebuild; the live buckets kept receiving every event, so they stay as they were. */
+  @Transactional
+  public void abortRebuild(UUID orgId){
+    jdbc.update(ABORT_REBUILD, orgId);
+    jdbc.update(CLEAR_JOURNAL, orgId);
+  }
+
+  static long lockKey(UUID orgId){ return ("tx_aggregates:" + orgId).hashCode(); }
+
+  /** Folds a batch of posted transactions into their buckets; one insert+update per distinct bucket, not per row. */
+  @Transactional
+  public int apply(Collection<TransactionPosted> events){
+    Map<AggregateKey, TxAggregate> deltas = fold(events, new HashMap<>());
+    // fixed lock order across concurrent batches
+    deltas.values().stream().sorted(Comparator.comparing((TxAggregate a) -> a.getKey().getOrgId())
+        .thenComparing(a -> a.getKey().getMonthStart()).thenComparing(a -> a.getKey().getType()).thenComparing(a -> a.getKey().getCategory()))
+      .forEach(d -> {
+        var k = d.getKey();
+        repo.ensureBucket(k.getOrgId(), k.getMonthStart(), k.getType().name(), k.getCategory());
+        repo.addToBucket(k.getOrgId(), k.getMonthStart(), k.getType().name(), k.getCategory(), d.getTotal(), d.getTxCount());
+      });
+    return deltas.size();
+  }
+
+  /** Replaces every bucket of {@code orgId} with freshly computed ones. */
+  @Transactional
+  public void replace(UUID orgId, Collection<TxAggregate> buckets){
+    repo.deleteByOrg(orgId);
+    int i = 0;
+    for (TxAggregate b : buckets) {
+      em.persist(b);
+      if (++i % 200 == 0) { em.flush(); em.clear(); }
+    }
+  }
+
+  @Transactional(readOnly=true)
+  public Summary summary(UUID orgId, YearMonth from, YearMonth to){
+    BigDecimal income = BigDecimal.ZERO, expense = BigDecimal.ZERO;
+    for (TypeTotal t : repo.totalsByType(orgId, start(from, MIN_MONTH), start(to, MAX_MONTH))) {
+      if (t.type().isExpense()) expense = expense.add(t.total()); else income = income.add(t.total());
+    }
+    return new Summary(income, expense, income.subtract(expense));
+  }
+
+  @Transactional(readOnly=true)
+  public List<MonthPoint> series(UUID orgId, YearMonth from, YearMonth to){
+    Map<LocalDate, BigDecimal[]> byMonth = new TreeMap<>();
+    for (MonthTypeTotal t : repo.totalsByMonth(orgId, start(from, MIN_MONTH), start(to, MAX_MONTH))) {
+      BigDecimal[] acc = byMonth.computeIfAbsent(t.monthStart(), m -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+      int slot = t.type().isExpense() ? 1 : 0;
+      acc[slot] = acc[slot].add(t.total());
+    }
+    List<MonthPoint> out = new ArrayList<>(byMonth.size());
+    byMonth.forEach((m, acc) -> out.add(new MonthPoint(YearMonth.from(m), acc[0], acc[1], acc[0].subtract(acc[1]))));
+    return out;
+  }
+
+  @Transactional(readOnly=true)
+  public List<CategoryTotal> categories(UUID orgId, YearMonth from, YearMonth to, TxType type){
+    return repo.totalsByCategory(orgId, start(from, MIN_MONTH), start(to, MAX_MONTH), type);
+  }
+
+  static Map<AggregateKey, TxAggregate> fold(Iterable<TransactionPosted> events, Map<AggregateKey, TxAggregate> into){
+    for (TransactionPosted e : events) fold(e, into);
+    return into;
+  }
+
+  static void fold(TransactionPosted e, Map<AggregateKey, TxAggregate> into){
+    var key = new AggregateKey(e.orgId(), e.txDate().withDayOfMonth(1), e.type(), e.category());
+    TxAggregate acc = into.computeIfAbsent(key, k -> { var a = new TxAggregate(); a.setKey(k); return a; });
+    acc.setTotal(acc.getTotal().add(e.amount()));
+    acc.setTxCount(acc.getTxCount() + 1);
+  }
+
+  private static LocalDate start(YearMonth m, LocalDate fallback){ return m == null ? fallback : m.atDay(1); }
+}
@@ -0,0 +1,59 @@
+package org.sncrwanda.reporting.service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.sncrwanda.common.outbox.ChangeEvent;
+import org.sncrwanda.common.outbox.OutboxSubscriber;
+import org.sncrwanda.reporting.domain.ProcessedEvent;
+import org.sncrwanda.reporting.domain.TransactionPosted;
+import org.sncrwanda.reporting.repo.ProcessedEventRepo;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration; import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+/**
+ * Folds ledger change events into the aggregates exactly once per event id, and not at all for transactions the
+ * org's last rebuild already read from the ledger export. While a rebuild is running, what is applied is also
+ * journaled for it (see {@link AggregateService#finishRebuild}).
+ */
+@Service
+public class LedgerEventConsumer implements OutboxSubscriber {
+  static final String TRANSACTION_CREATED = "TransactionCreated";
+  static final Duration DEDUPE_WINDOW = Duration.ofDays(7);
+  private final AggregateService aggregates; private final ProcessedEventRepo processed; private final EntityManager em; private final ObjectMapper mapper;
+  public LedgerEventConsumer(AggregateService aggregates, ProcessedEventRepo processed, EntityManager em, ObjectMapper mapper){
+    this.aggregates=aggregates; this.processed=processed; this.em=em; this.mapper=mapper;
+  }
+
+  @Override @Transactional
+  public void onEvents(List<ChangeEvent> events){
+    if (events.isEmpty()) return;
+    Set<UUID> orgs = events.stream().map(ChangeEvent::orgId).filter(Objects::nonNull).collect(Collectors.toSet());
+    // taken before reading the rebuild state, so a rebuild step of the same org has either committed or not started
+    aggregates.lockShared(orgs);
+    Map<UUID, AggregateService.RebuildState> rebuilds = aggregates.rebuildStates(orgs);
+    Set<UUID> seen = new HashSet<>(processed.findSeen(events.stream().map(ChangeEvent::id).toList()));
+    Instant now = Instant.now();
+    List<TransactionPosted> fresh = new ArrayList<>();
+    List<AggregateService.Journaled> journal = new ArrayList<>();
+    for (ChangeEvent e : events) {
+      if (!seen.add(e.id())) continue;
+      em.persist(new ProcessedEvent(e.id(), now));
+      if (!TRANSACTION_CREATED.equals(e.eventType())) continue;
+      var rebuild = rebuilds.get(e.orgId());
+      if (rebuild != null && rebuild.counted(e.txId())) continue;
+      TransactionPosted posted = read(e);
+      fresh.add(posted);
+      if (rebuild != null && rebuild.pending()) journal.add(new AggregateService.Journaled(e.txId(), posted));
+    }
+    aggregates.apply(fresh);
+    aggregates.journal(journal);
+    processed.purgeBefore(now.minus(DEDUPE_WINDOW));
+  }
+
+  private TransactionPosted read(ChangeEvent e){
+    try { return mapper.treeToValue(e.payload(), TransactionPosted.class); }
+    catch (JsonProcessingException ex) { throw new IllegalArgumentException("Unreadable " + e.eventType() + " payload " + e.id(), ex); }
+  }
+}
@@ -0,0 +1,21 @@
+package org.sncrwanda.reporting.service;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+/**
+ * A ledger {@code pg_current_snapshot()}, {@code xmin:xmax:xip,...}: the transactions whose writes it sees are those
+ * below {@code xmax} and not in progress. Decides whether a ledger export already contains an event's transaction.
+ */
+record LedgerSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+  static LedgerSnapshot parse(String text){
+    String[] parts = text.split(":", -1);
+    if (parts.length != 3) throw new IllegalArgumentException("Not a snapshot: " + text);
+    Set<Long> xip = parts[2].isEmpty() ? Set.of() : Arrays.stream(parts[2].split(",")).map(Long::valueOf).collect(Collectors.toSet());
+    return new LedgerSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), xip);
+  }
+
+  /** Events written before transaction ids were recorded ({@code txId} null) are never taken as included. */
+  boolean includes(Long txId){
+    return txId != null && (txId < xmin || (txId < xmax && !inProgress.contains(txId)));
+  }
+}
@@ -0,0 +1,5 @@
+package org.sncrwanda.reporting.service;
+/** Another rebuild of the same org is still reading the ledger export. */
+public class RebuildConflictException extends RuntimeException {
+  public RebuildConflictException(String message){ super(message); }
+}
@@ -0,0 +1,14 @@
+package org.sncrwanda.reporting.web;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.reporting.service.AggregateRebuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+@RestController @RequestMapping("/reporting/aggregates")
+public class AggregateController {
+  private final AggregateRebuilder rebuilder;
+  public AggregateController(AggregateRebuilder rebuilder){this.rebuilder=rebuilder;}
+  /** Full recompute of the caller's org from the ledger export, for backfills or after a missed feed. */
+  @PostMapping("/rebuild") public AggregateRebuilder.RebuildResult rebuild(@RequestHeader(value=HttpHeaders.AUTHORIZATION, required=false) String authorization){
+    return rebuilder.rebuild(TenantContext.require(), authorization);
+  }
+}
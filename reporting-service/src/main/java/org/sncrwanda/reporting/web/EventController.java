@@ -0,0 +1,21 @@
+package org.sncrwanda.reporting.web;
+import org.sncrwanda.common.outbox.ChangeEvent;
+import org.sncrwanda.common.outbox.DeliveryToken;
+import org.sncrwanda.reporting.service.LedgerEventConsumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+/** Receiving end of the ledger outbox relay (HTTP transport). Events name their own org, so only the relay may post them. */
+@RestController @RequestMapping("/reporting/events")
+public class EventController {
+  private final LedgerEventConsumer consumer; private final String token;
+  public EventController(LedgerEventConsumer consumer, @Value("${sncrwanda.outbox.delivery-token:}") String token){this.consumer=consumer; this.token=token;}
+  @PostMapping public ResponseEntity<Void> receive(@RequestHeader(value=DeliveryToken.HEADER, required=false) String presented,
+                                                   @RequestBody List<ChangeEvent> events){
+    if (!DeliveryToken.matches(token, presented)) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    consumer.onEvents(events);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -1,5 +1,6 @@
 package org.sncrwanda.reporting.web;
 import org.sncrwanda.common.api.ErrorResponse;
+import org.sncrwanda.reporting.service.RebuildConflictException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,6 +18,11 @@ public class GlobalExceptionHandler {
       .collect(Collectors.toList());
     return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"VALIDATION_ERROR","Invalid fields",details);
   }
+  @ExceptionHandler(RebuildConflictException.class)
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ErrorResponse handleConflict(RebuildConflictException ex, HttpServletRequest req) {
+    return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"REBUILD_RUNNING",ex.getMessage(),null);
+  }
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ErrorResponse handleAny(Exception ex, HttpServletRequest req) {
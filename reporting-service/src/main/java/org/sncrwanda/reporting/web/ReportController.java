@@ -1,8 +1,22 @@
 package org.sncrwanda.reporting.web;
-import org.springframework.web.bind.annotation.*; import java.util.Map;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.sncrwanda.reporting.domain.CategoryTotal;
+import org.sncrwanda.reporting.domain.TxType;
+import org.sncrwanda.reporting.service.AggregateService;
+import org.springframework.web.bind.annotation.*;
+import java.time.YearMonth; import java.util.List;
 @RestController @RequestMapping("/reporting/reports")
 public class ReportController {
-  @GetMapping("/summary") public Map<String,Object> summary(){
-    return Map.of("incomeTotal",1200,"expenseTotal",275,"net",925);
+  private final AggregateService aggregates;
+  public ReportController(AggregateService aggregates){this.aggregates=aggregates;}
+  @GetMapping("/summary") public AggregateService.Summary summary(@RequestParam(required=false) YearMonth from, @RequestParam(required=false) YearMonth to){
+    return aggregates.summary(TenantContext.require(), from, to);
+  }
+  @GetMapping("/timeseries") public List<AggregateService.MonthPoint> timeseries(@RequestParam(required=false) YearMonth from, @RequestParam(required=false) YearMonth to){
+    return aggregates.series(TenantContext.require(), from, to);
+  }
+  @GetMapping("/categories") public List<CategoryTotal> categories(@RequestParam(required=false) YearMonth from, @RequestParam(required=false) YearMonth to,
+                                                                  @RequestParam(required=false) TxType type){
+    return aggregates.categories(TenantContext.require(), from, to, type);
   }
 }
@@ -0,0 +1,18 @@
+-- Incremental summary buckets and the ids of events already applied to them.
+
+create table tx_aggregates (
+    org_id      uuid           not null,
+    month_start date           not null,
+    type        varchar(255)   not null,
+    category    varchar(255)   not null,
+    total       numeric(38, 2) not null,
+    tx_count    bigint         not null,
+    -- org first: every report reads one org's months
+    primary key (org_id, month_start, type, category)
+);
+
+create table processed_events (
+    id           uuid                        not null,
+    processed_at timestamp(6) with time zone not null,
+    primary key (id)
+);
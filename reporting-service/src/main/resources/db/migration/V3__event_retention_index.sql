@@ -0,0 +1,2 @@
+-- old processed event ids are pruned by age
+create index if not exists processed_events_processed_at_idx on processed_events (processed_at);
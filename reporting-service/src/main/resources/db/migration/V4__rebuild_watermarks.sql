@@ -0,0 +1,19 @@
+-- Per-org rebuild state. ledger_snapshot is the pg_current_snapshot() of the ledger export the last rebuild read:
+-- a TransactionCreated event whose transaction it includes is already counted. While pending_since is set, a
+-- rebuild is reading the export and the events applied meanwhile are journaled, to be reconciled at the swap.
+create table aggregate_rebuilds (
+    org_id          uuid                        not null,
+    ledger_snapshot text,
+    pending_since   timestamp(6) with time zone,
+    primary key (org_id)
+);
+
+create table rebuild_journal (
+    org_id      uuid           not null,
+    tx_id       bigint,
+    month_start date           not null,
+    type        varchar(255)   not null,
+    category    varchar(255)   not null,
+    amount      numeric(38, 2) not null
+);
+create index rebuild_journal_org_idx on rebuild_journal (org_id);
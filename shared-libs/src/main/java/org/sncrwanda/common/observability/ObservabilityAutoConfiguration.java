@@ -0,0 +1,120 @@
+package org.sncrwanda.common.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.lang.reflect.Method;
+
+/**
+ * On by default ({@code sncrwanda.observability.enabled=false} turns it off): trace ids in and out of every service,
+ * and {@value PhaseTimers#METRIC} timers for controllers, Spring Data repositories and JSON conversion, scraped with
+ * the rest of the metrics from {@code /actuator/prometheus}.
+ */
+@AutoConfiguration(after = {JacksonAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class},
+        before = HttpMessageConvertersAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "sncrwanda.observability", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ObservabilityAutoConfiguration {
+    /** First of the platform filters, so even rejected requests carry a trace id. */
+    public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(OncePerRequestFilter.class)
+    public FilterRegistrationBean<TraceFilter> traceFilter() {
+        var registration = new FilterRegistrationBean<>(new TraceFilter());
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnClass(RestClient.class)
+    public RestClientCustomizer tracePropagationCustomizer() {
+        return builder -> builder.requestInterceptor(new TracePropagation());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    static class PhaseMetricsConfiguration {
+        @Bean
+        public PhaseTimers phaseTimers(MeterRegistry registry) {
+            return new PhaseTimers(registry);
+        }
+
+        /** Takes the place of Boot's JSON converter, which backs off when one is defined. */
+        @Bean
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        @ConditionalOnClass(MappingJackson2HttpMessageConverter.class)
+        public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper mapper, PhaseTimers timers) {
+            return new TimedJacksonHttpMessageConverter(mapper, timers);
+        }
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+        static Advisor controllerPhaseAdvisor(ObjectProvider<PhaseTimers> timers) {
+            var pointcut = new AnnotationMatchingPointcut(RestController.class, RequestMapping.class, true);
+            return new DefaultPointcutAdvisor(pointcut, new PhaseTimingInterceptor(SingletonSupplier.of(timers::getObject), "controller",
+                    i -> ClassUtils.getUserClass(i.getThis()).getSimpleName()));
+        }
+
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        @ConditionalOnClass(Repository.class)
+        static Advisor repositoryPhaseAdvisor(ObjectProvider<PhaseTimers> timers) {
+            return new DefaultPointcutAdvisor(new RepositoryPointcut(), new PhaseTimingInterceptor(SingletonSupplier.of(timers::getObject), "repository",
+                    ObservabilityAutoConfiguration::repositoryName));
+        }
+    }
+
+    /** The application's repository interface behind a Spring Data proxy, e.g. {@code TransactionRepo}. */
+    static String repositoryName(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        if (target != null) {
+            for (Class<?> ifc : ClassUtils.getAllInterfacesForClass(target.getClass())) {
+                if (Repository.class.isAssignableFrom(ifc) && !ifc.getName().startsWith("org.springframework.")) return ifc.getSimpleName();
+            }
+        }
+        return invocation.getMethod().getDeclaringClass().getSimpleName();
+    }
+
+    static final class RepositoryPointcut extends StaticMethodMatcherPointcut {
+        RepositoryPointcut() {
+            setClassFilter(Repository.class::isAssignableFrom);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return method.getDeclaringClass() != Object.class;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.sncrwanda.common.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@value #METRIC} timers: one per phase ({@code controller}, {@code repository}, {@code serialization},
+ * {@code deserialization}) and component, so a request's time can be split into handler, database and JSON work.
+ * They publish percentile histograms, which Prometheus aggregates across instances with {@code histogram_quantile}.
+ */
+public class PhaseTimers {
+    public static final String METRIC = "sncrwanda.phase";
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public PhaseTimers(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Timers are looked up once per phase and component; components must come from a bounded set (classes, methods, types). */
+    public Timer timer(String phase, String component) {
+        return timers.computeIfAbsent(phase + '|' + component, k -> Timer.builder(METRIC)
+                .description("Time spent in one phase of request handling")
+                .tags("phase", phase, "component", component)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry));
+    }
+
+    public void record(String phase, String component, long startNanos) {
+        timer(phase, component).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
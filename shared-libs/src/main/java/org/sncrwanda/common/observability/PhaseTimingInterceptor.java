@@ -0,0 +1,38 @@
+package org.sncrwanda.common.observability;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Times every advised call as {@code phase}, tagged {@code Type.method}; the tag is computed once per method. The
+ * timers are resolved on first use, because advisors are created before the meter registry exists.
+ */
+class PhaseTimingInterceptor implements MethodInterceptor {
+    private final Supplier<PhaseTimers> timers;
+    private final String phase;
+    private final Function<MethodInvocation, String> typeName;
+    private final Map<Method, String> components = new ConcurrentHashMap<>();
+
+    PhaseTimingInterceptor(Supplier<PhaseTimers> timers, String phase, Function<MethodInvocation, String> typeName) {
+        this.timers = timers;
+        this.phase = phase;
+        this.typeName = typeName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String component = components.computeIfAbsent(invocation.getMethod(), m -> typeName.apply(invocation) + "." + m.getName());
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timers.get().record(phase, component, start);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.sncrwanda.common.observability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Boot's JSON converter with request and response bodies timed as the {@code deserialization} and
+ * {@code serialization} phases. Writing includes handing the bytes to the servlet output buffer.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    private final PhaseTimers timers;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper mapper, PhaseTimers timers) {
+        super(mapper);
+        this.timers = timers;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+        long start = System.nanoTime();
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            timers.record("deserialization", name(type), start);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timers.record("serialization", type != null ? name(type) : object.getClass().getSimpleName(), start);
+        }
+    }
+
+    static String name(Type type) {
+        if (type instanceof Class<?> c) return c.getSimpleName();
+        if (type instanceof ParameterizedType p) {
+            StringBuilder sb = new StringBuilder(name(p.getRawType())).append('<');
+            Type[] args = p.getActualTypeArguments();
+            for (int i = 0; i < args.length; i++) sb.append(i == 0 ? "" : ",").append(name(args[i]));
+            return sb.append('>').toString();
+        }
+        return type.getTypeName();
+    }
+}
@@ -0,0 +1,27 @@
+package org.sncrwanda.common.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/** Adopts or creates the request's trace id, exposes it in the MDC and echoes it as {@code X-Trace-Id}. */
+public class TraceFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain) throws ServletException, IOException {
+        String traceId = Tracing.fromHeaders(req.getHeader(Tracing.TRACEPARENT), req.getHeader(Tracing.TRACE_ID_HEADER));
+        if (traceId == null) traceId = Tracing.newTraceId();
+        MDC.put(Tracing.MDC_KEY, traceId);
+        res.setHeader(Tracing.TRACE_ID_HEADER, traceId);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            MDC.remove(Tracing.MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.sncrwanda.common.observability;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/** Carries the current trace id on outgoing {@code RestClient} calls. */
+public class TracePropagation implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        String traceId = Tracing.current();
+        if (traceId != null) {
+            request.getHeaders().set(Tracing.TRACE_ID_HEADER, traceId);
+            String traceparent = Tracing.traceparent(traceId);
+            if (traceparent != null) request.getHeaders().set(Tracing.TRACEPARENT, traceparent);
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,54 @@
+package org.sncrwanda.common.observability;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Trace id conventions shared by every service: W3C {@code traceparent} when the caller sends one, otherwise
+ * {@code X-Trace-Id}, otherwise a fresh id. The id lives in the {@value #MDC_KEY} MDC entry for the request, which
+ * is what log lines and {@link org.sncrwanda.common.api.ErrorResponse#traceId()} read.
+ */
+public final class Tracing {
+    public static final String TRACEPARENT = "traceparent";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String MDC_KEY = "traceId";
+    private static final Pattern W3C_TRACE_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final Pattern CALLER_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{8,64}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+
+    private Tracing() {
+    }
+
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    /** The trace id from {@code traceparent} or {@code X-Trace-Id}, or null when neither carries a usable one. */
+    public static String fromHeaders(String traceparent, String traceIdHeader) {
+        if (traceparent != null) {
+            String[] parts = traceparent.trim().split("-");
+            if (parts.length == 4 && W3C_TRACE_ID.matcher(parts[1]).matches() && !INVALID_TRACE_ID.equals(parts[1])) return parts[1];
+        }
+        if (traceIdHeader != null && CALLER_TRACE_ID.matcher(traceIdHeader.trim()).matches()) return traceIdHeader.trim();
+        return null;
+    }
+
+    public static String newTraceId() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return hex(r.nextLong(), 16) + hex(r.nextLong(), 16);
+    }
+
+    /** A {@code traceparent} for an outgoing call with a new span id, or null when {@code traceId} is not W3C-shaped. */
+    public static String traceparent(String traceId) {
+        if (traceId == null || !W3C_TRACE_ID.matcher(traceId).matches()) return null;
+        long span = ThreadLocalRandom.current().nextLong();
+        return "00-" + traceId + "-" + hex(span == 0 ? 1 : span, 16) + "-01";
+    }
+
+    private static String hex(long value, int width) {
+        String s = Long.toHexString(value);
+        return s.length() >= width ? s : "0".repeat(width - s.length()) + s;
+    }
+}
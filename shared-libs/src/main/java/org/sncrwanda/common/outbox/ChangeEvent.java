@@ -0,0 +1,28 @@
+package org.sncrwanda.common.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A committed state change, as stored in {@code outbox_events} and delivered to subscribers.
+ * {@code seq} is assigned when the event is written, so a transaction that commits late reaches subscribers after
+ * events with a higher {@code seq}. Delivery is at-least-once and not strictly ordered: consumers dedupe on
+ * {@code id} and must not depend on {@code seq} order. {@code txId} is the Postgres id of the transaction that wrote
+ * the event, so a consumer can tell whether a snapshot of the source ({@code pg_current_snapshot()}) includes it;
+ * null where the database does not record it.
+ */
+public record ChangeEvent(
+        UUID id,
+        long seq,
+        Long txId,
+        String source,
+        String aggregateType,
+        UUID aggregateId,
+        String eventType,
+        UUID orgId,
+        Instant occurredAt,
+        JsonNode payload
+) {
+}
@@ -0,0 +1,21 @@
+package org.sncrwanda.common.outbox;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Shared secret ({@code sncrwanda.outbox.delivery-token}) that {@link HttpOutboxTransport} sends with every batch.
+ * Relays carry no user token, so subscriber endpoints are public to the JWT filter and check this header instead.
+ */
+public final class DeliveryToken {
+    public static final String HEADER = "X-Outbox-Token";
+
+    private DeliveryToken() {
+    }
+
+    /** Constant-time comparison; an unset secret on the receiving side refuses every delivery. */
+    public static boolean matches(String expected, String presented) {
+        if (expected == null || expected.isBlank() || presented == null) return false;
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
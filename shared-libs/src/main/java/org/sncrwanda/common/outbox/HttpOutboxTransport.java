@@ -0,0 +1,35 @@
+package org.sncrwanda.common.outbox;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to one subscriber URL, which is also the subscriber's name. The relay
+ * retries a batch until that subscriber accepted it, so subscribers must dedupe. Each request carries the
+ * {@link DeliveryToken} the subscribers check.
+ */
+public class HttpOutboxTransport implements OutboxTransport {
+    private final RestClient http;
+    private final List<String> subscribers;
+    private final String token;
+
+    public HttpOutboxTransport(RestClient http, List<String> subscribers, String token) {
+        this.http = http;
+        this.subscribers = List.copyOf(subscribers);
+        this.token = token;
+    }
+
+    @Override
+    public List<String> subscribers() {
+        return subscribers;
+    }
+
+    @Override
+    public void publish(String subscriber, List<ChangeEvent> events) {
+        var request = http.post().uri(subscriber).contentType(MediaType.APPLICATION_JSON);
+        if (token != null) request.header(DeliveryToken.HEADER, token);
+        request.body(events).retrieve().toBodilessEntity();
+    }
+}
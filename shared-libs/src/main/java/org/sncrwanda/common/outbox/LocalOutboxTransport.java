@@ -0,0 +1,26 @@
+package org.sncrwanda.common.outbox;
+
+import java.util.List;
+
+/**
+ * Hands batches straight to the {@link OutboxSubscriber} beans of the same application context, which share
+ * one queue named {@value #SUBSCRIBER}. Meant for tests and single-process setups.
+ */
+public class LocalOutboxTransport implements OutboxTransport {
+    static final String SUBSCRIBER = "local";
+    private final List<OutboxSubscriber> subscribers;
+
+    public LocalOutboxTransport(List<OutboxSubscriber> subscribers) {
+        this.subscribers = List.copyOf(subscribers);
+    }
+
+    @Override
+    public List<String> subscribers() {
+        return subscribers.isEmpty() ? List.of() : List.of(SUBSCRIBER);
+    }
+
+    @Override
+    public void publish(String subscriber, List<ChangeEvent> events) {
+        for (OutboxSubscriber s : subscribers) s.onEvents(events);
+    }
+}
@@ -0,0 +1,82 @@
+package org.sncrwanda.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import javax.sql.DataSource;
+import java.net.http.HttpClient;
+
+/**
+ * Enabled with {@code sncrwanda.outbox.enabled=true}. Provides an {@link OutboxWriter} for the write paths and an
+ * {@link OutboxRelay} that publishes through the configured {@link OutboxTransport}.
+ */
+@AutoConfiguration(after = {JacksonAutoConfiguration.class, JdbcTemplateAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@ConditionalOnClass(JdbcTemplate.class)
+@ConditionalOnProperty(prefix = "sncrwanda.outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "sncrwanda.outbox", name = "initialize-schema", havingValue = "true", matchIfMissing = true)
+    public OutboxSchemaInitializer outboxSchemaInitializer(DataSource dataSource) {
+        return new OutboxSchemaInitializer(dataSource);
+    }
+
+    @Bean
+    public OutboxWriter outboxWriter(JdbcTemplate jdbc, ObjectMapper mapper) {
+        return new OutboxWriter(jdbc, mapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxTransport.class)
+    public OutboxTransport localOutboxTransport(ObjectProvider<OutboxSubscriber> subscribers) {
+        return new LocalOutboxTransport(subscribers.orderedStream().toList());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "sncrwanda.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(JdbcTemplate jdbc, PlatformTransactionManager txManager, OutboxTransport transport,
+                                   ObjectMapper mapper, OutboxProperties props, Environment env) {
+        String source = props.getSource() != null ? props.getSource() : env.getProperty("spring.application.name", "unknown");
+        return new OutboxRelay(jdbc, new TransactionTemplate(txManager), transport, mapper, props, source);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RestClient.class)
+    @ConditionalOnProperty(prefix = "sncrwanda.outbox", name = "transport", havingValue = "http")
+    static class HttpTransportConfiguration {
+        @Bean
+        @ConditionalOnMissingBean(OutboxTransport.class)
+        public OutboxTransport httpOutboxTransport(ObjectProvider<RestClient.Builder> http, OutboxProperties props) {
+            JdkClientHttpRequestFactory requests = new JdkClientHttpRequestFactory(
+                    HttpClient.newBuilder().connectTimeout(props.getConnectTimeout()).build());
+            requests.setReadTimeout(props.getReadTimeout());
+            return new HttpOutboxTransport(http.getIfAvailable(RestClient::builder).requestFactory(requests).build(),
+                    props.getSubscribers(), props.getDeliveryToken());
+        }
+    }
+
+    public static class OutboxSchemaInitializer {
+        OutboxSchemaInitializer(DataSource dataSource) {
+            new ResourceDatabasePopulator(new ClassPathResource("org/sncrwanda/common/outbox/schema.sql")).execute(dataSource);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.sncrwanda.common.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("sncrwanda.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+    public enum Transport { LOCAL, HTTP }
+
+    private boolean enabled;
+    /** Stamped on every published event; defaults to {@code spring.application.name}. */
+    private String source;
+    private Transport transport = Transport.LOCAL;
+    /** Endpoints that receive each batch when {@code transport=http}; each is relayed to independently. */
+    private List<String> subscribers = new ArrayList<>();
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /** Longest a subscriber may take to answer one batch before the delivery counts as failed. */
+    private Duration readTimeout = Duration.ofSeconds(10);
+    /** Secret sent as {@value DeliveryToken#HEADER} with every HTTP delivery and checked by the receiving endpoints. */
+    private String deliveryToken;
+    /** Create {@code outbox_events} on startup when it is missing. */
+    private boolean initializeSchema = true;
+    private Relay relay = new Relay();
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private boolean enabled = true;
+        private int batchSize = 200;
+        private Duration interval = Duration.ofMillis(500);
+        /** How long a claimed batch stays with one relay before another may take it over; keep above {@code read-timeout}. */
+        private Duration claimLease = Duration.ofMinutes(1);
+        /** Published rows older than this are deleted. */
+        private Duration retention = Duration.ofDays(7);
+        /** Serialise relays across instances with a Postgres advisory lock; turn off for databases without one. */
+        private boolean advisoryLock = true;
+    }
+}
@@ -0,0 +1,198 @@
+package org.sncrwanda.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sncrwanda.common.tenant.TenantContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls {@code outbox_events} and delivers new rows to every subscriber of the {@link OutboxTransport}, each from
+ * its own queue in {@code outbox_deliveries}. Dispatching copies new events into one row per subscriber. Delivery
+ * claims a batch for {@code claim-lease} in one short transaction, publishes it with no transaction or connection
+ * held, and deletes the rows in a second one. Every subscriber is relayed on its own thread, so one that is down or
+ * slow holds back only its own deliveries. A crash or an expired claim re-delivers the batch to that subscriber
+ * alone: delivery is at-least-once and not strictly in {@code seq} order (see {@link ChangeEvent}).
+ */
+public class OutboxRelay implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    static final String PENDING = "select seq from outbox_events where dispatched_at is null order by seq limit ?";
+    static final String QUEUE = "insert into outbox_deliveries (subscriber, seq) values (?, ?)";
+    static final String DISPATCHED = "update outbox_events set dispatched_at = ? where seq = ?";
+    static final String NEXT = "select e.seq, e.tx_id, e.id, e.aggregate_type, e.aggregate_id, e.event_type, e.org_id, e.payload, e.created_at"
+            + " from outbox_deliveries d join outbox_events e on e.seq = d.seq"
+            + " where d.subscriber = ? and (d.claimed_until is null or d.claimed_until < ?) order by d.seq limit ?";
+    static final String CLAIM = "update outbox_deliveries set claimed_until = ? where subscriber = ? and seq = ?";
+    static final String DELIVERED = "delete from outbox_deliveries where subscriber = ? and seq = ?";
+    static final String PURGE = "delete from outbox_events e where e.dispatched_at < ?"
+            + " and not exists (select 1 from outbox_deliveries d where d.seq = e.seq)";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final OutboxTransport transport;
+    private final ObjectMapper mapper;
+    private final OutboxProperties props;
+    private final String source;
+    private final String dropUnsubscribed;
+    private ScheduledExecutorService scheduler;
+
+    public OutboxRelay(JdbcTemplate jdbc, TransactionTemplate tx, OutboxTransport transport, ObjectMapper mapper,
+                       OutboxProperties props, String source) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.transport = transport;
+        this.mapper = mapper;
+        this.props = props;
+        this.source = source;
+        // queues of subscribers removed from the configuration would otherwise keep their events forever
+        List<String> subscribers = transport.subscribers();
+        this.dropUnsubscribed = subscribers.isEmpty() ? "delete from outbox_deliveries"
+                : "delete from outbox_deliveries where subscriber not in (" + String.join(", ", Collections.nCopies(subscribers.size(), "?")) + ")";
+    }
+
+    /** Queues at most one batch of new events for every subscriber; returns how many events were dispatched. */
+    public int dispatchOnce() {
+        Integer dispatched = tx.execute(status -> {
+            if (!tryLock("outbox_events:" + source)) return 0; // another instance is dispatching
+            List<Long> batch = jdbc.queryForList(PENDING, Long.class, props.getRelay().getBatchSize());
+            if (batch.isEmpty()) return 0;
+            List<Object[]> rows = new ArrayList<>();
+            for (String subscriber : transport.subscribers()) {
+                for (Long seq : batch) rows.add(new Object[]{subscriber, seq});
+            }
+            jdbc.batchUpdate(QUEUE, rows);
+            Timestamp now = Timestamp.from(Instant.now());
+            jdbc.batchUpdate(DISPATCHED, batch.stream().map(seq -> new Object[]{now, seq}).toList());
+            return batch.size();
+        });
+        return dispatched == null ? 0 : dispatched;
+    }
+
+    /** Publishes at most one batch from {@code subscriber}'s queue; returns how many events went out. */
+    public int deliverOnce(String subscriber) {
+        List<ChangeEvent> batch = tx.execute(status -> claim(subscriber));
+        if (batch == null || batch.isEmpty()) return 0;
+        try {
+            transport.publish(subscriber, batch);
+        } catch (RuntimeException e) {
+            // retried on the next interval instead of after the lease
+            claim(subscriber, batch, null);
+            throw e;
+        }
+        tx.executeWithoutResult(status ->
+                jdbc.batchUpdate(DELIVERED, batch.stream().map(e -> new Object[]{subscriber, e.seq()}).toList()));
+        return batch.size();
+    }
+
+    private List<ChangeEvent> claim(String subscriber) {
+        if (!tryLock("outbox_deliveries:" + source + ":" + subscriber)) return List.of(); // another instance is claiming
+        Instant now = Instant.now();
+        List<ChangeEvent> batch = jdbc.query(NEXT, rowMapper(), subscriber, Timestamp.from(now), props.getRelay().getBatchSize());
+        if (!batch.isEmpty()) claim(subscriber, batch, Timestamp.from(now.plus(props.getRelay().getClaimLease())));
+        return batch;
+    }
+
+    private void claim(String subscriber, List<ChangeEvent> batch, Timestamp until) {
+        jdbc.batchUpdate(CLAIM, batch.stream().map(e -> new Object[]{until, subscriber, e.seq()}).toList());
+    }
+
+    /** Dispatches everything currently pending, then purges events every subscriber has had and that are past retention. */
+    public void dispatch() {
+        try {
+            TenantContext.runAsRoot(() -> {
+                while (dispatchOnce() == props.getRelay().getBatchSize()) {
+                    // full batch: there may be more
+                }
+                jdbc.update(dropUnsubscribed, transport.subscribers().toArray());
+                jdbc.update(PURGE, Timestamp.from(Instant.now().minus(props.getRelay().getRetention())));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch for {} failed, retrying in {}: {}", source, props.getRelay().getInterval(), e.getMessage());
+        }
+    }
+
+    /** Delivers everything currently queued for {@code subscriber}. Runs as root: batches mix orgs. */
+    public void drain(String subscriber) {
+        try {
+            TenantContext.runAsRoot(() -> {
+                while (deliverOnce(subscriber) == props.getRelay().getBatchSize()) {
+                    // full batch: there may be more
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Outbox delivery from {} to {} failed, retrying in {}: {}", source, subscriber, props.getRelay().getInterval(), e.getMessage());
+        }
+    }
+
+    private boolean tryLock(String name) {
+        return !props.getRelay().isAdvisoryLock()
+                || Boolean.TRUE.equals(jdbc.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, (long) name.hashCode()));
+    }
+
+    private RowMapper<ChangeEvent> rowMapper() {
+        return (rs, i) -> new ChangeEvent(
+                rs.getObject("id", UUID.class),
+                rs.getLong("seq"),
+                rs.getObject("tx_id", Long.class),
+                source,
+                rs.getString("aggregate_type"),
+                rs.getObject("aggregate_id", UUID.class),
+                rs.getString("event_type"),
+                rs.getObject("org_id", UUID.class),
+                rs.getTimestamp("created_at").toInstant(),
+                readTree(rs.getString("payload")));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return mapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload", e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null) return;
+        List<String> subscribers = transport.subscribers();
+        scheduler = Executors.newScheduledThreadPool(subscribers.size() + 1,
+                Thread.ofPlatform().name("outbox-relay-", 0).daemon().factory());
+        long every = props.getRelay().getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::dispatch, every, every, TimeUnit.MILLISECONDS);
+        for (String subscriber : subscribers) {
+            scheduler.scheduleWithFixedDelay(() -> drain(subscriber), every, every, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,10 @@
+package org.sncrwanda.common.outbox;
+
+import java.util.List;
+
+/**
+ * In-process receiver used by {@link LocalOutboxTransport}.
+ */
+public interface OutboxSubscriber {
+    void onEvents(List<ChangeEvent> events);
+}
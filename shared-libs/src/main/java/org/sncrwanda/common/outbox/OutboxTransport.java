@@ -0,0 +1,14 @@
+package org.sncrwanda.common.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers batches to a fixed set of named subscribers, one subscriber per call. Throwing leaves the batch
+ * queued for that subscriber only, and the relay retries it.
+ */
+public interface OutboxTransport {
+    /** Stable names of the subscribers; each keeps its own queue in {@code outbox_deliveries}. */
+    List<String> subscribers();
+
+    void publish(String subscriber, List<ChangeEvent> events);
+}
@@ -0,0 +1,63 @@
+package org.sncrwanda.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Records change events in {@code outbox_events}. Must be called inside the transaction that writes the entity,
+ * so the event commits (or rolls back) together with it.
+ */
+public class OutboxWriter {
+    static final String INSERT = "insert into outbox_events (id, aggregate_type, aggregate_id, event_type, org_id, payload, created_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private final ObjectMapper mapper;
+
+    public OutboxWriter(JdbcTemplate jdbc, ObjectMapper mapper) {
+        this.jdbc = jdbc;
+        this.mapper = mapper;
+    }
+
+    public UUID append(String aggregateType, UUID aggregateId, String eventType, UUID orgId, Object payload) {
+        requireTransaction();
+        UUID id = UUID.randomUUID();
+        jdbc.update(INSERT, id, aggregateType, aggregateId, eventType, orgId, json(payload), Timestamp.from(Instant.now()));
+        return id;
+    }
+
+    /** One JDBC batch for many events of the same type, e.g. for bulk imports. */
+    public <T> void appendAll(String aggregateType, String eventType, List<T> items, Function<T, UUID> aggregateId, Function<T, UUID> orgId) {
+        if (items.isEmpty()) return;
+        requireTransaction();
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(items.size());
+        for (T item : items) {
+            rows.add(new Object[]{UUID.randomUUID(), aggregateType, aggregateId.apply(item), eventType, orgId.apply(item), json(item), now});
+        }
+        jdbc.batchUpdate(INSERT, rows);
+    }
+
+    private String json(Object payload) {
+        try {
+            return mapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serialisable: " + payload.getClass().getName(), e);
+        }
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written inside the entity's transaction");
+        }
+    }
+}
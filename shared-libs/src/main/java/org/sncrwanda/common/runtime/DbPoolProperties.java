@@ -0,0 +1,24 @@
+package org.sncrwanda.common.runtime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * {@code sncrwanda.db.pool}: the connection budget of one service on the shared Postgres. Unset values keep
+ * Hikari's (or {@code spring.datasource.hikari.*}) settings.
+ */
+@Getter
+@Setter
+public class DbPoolProperties {
+    public static final String PREFIX = "sncrwanda.db.pool";
+
+    private Integer maximumSize;
+    private Integer minimumIdle;
+    /** How long a request waits for a connection before failing; keep it short so overload surfaces instead of queueing. */
+    private Duration connectionTimeout;
+    private Duration idleTimeout;
+    private Duration maxLifetime;
+    private Duration leakDetectionThreshold;
+}
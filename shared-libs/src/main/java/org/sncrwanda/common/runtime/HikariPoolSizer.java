@@ -0,0 +1,38 @@
+package org.sncrwanda.common.runtime;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+/**
+ * Applies {@link DbPoolProperties} to the service's Hikari pool before it starts, after Boot has bound
+ * {@code spring.datasource.hikari.*}. Also names the pool after the service, which becomes the {@code pool}
+ * tag of the {@code hikaricp.connections.*} metrics.
+ */
+class HikariPoolSizer implements BeanPostProcessor, Ordered {
+    private final DbPoolProperties props;
+    private final String applicationName;
+
+    HikariPoolSizer(DbPoolProperties props, String applicationName) {
+        this.props = props;
+        this.applicationName = applicationName;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource pool) || pool.isRunning()) return bean;
+        if (props.getMaximumSize() != null) pool.setMaximumPoolSize(props.getMaximumSize());
+        if (props.getMinimumIdle() != null) pool.setMinimumIdle(props.getMinimumIdle());
+        if (props.getConnectionTimeout() != null) pool.setConnectionTimeout(props.getConnectionTimeout().toMillis());
+        if (props.getIdleTimeout() != null) pool.setIdleTimeout(props.getIdleTimeout().toMillis());
+        if (props.getMaxLifetime() != null) pool.setMaxLifetime(props.getMaxLifetime().toMillis());
+        if (props.getLeakDetectionThreshold() != null) pool.setLeakDetectionThreshold(props.getLeakDetectionThreshold().toMillis());
+        if (pool.getPoolName() == null && applicationName != null) pool.setPoolName(applicationName);
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
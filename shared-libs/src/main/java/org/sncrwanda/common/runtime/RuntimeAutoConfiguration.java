@@ -0,0 +1,43 @@
+package org.sncrwanda.common.runtime;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service connection pool sizing from {@code sncrwanda.db.pool.*}, and virtual-thread metrics
+ * ({@code jvm.threads.virtual.*}) next to Boot's own {@code jvm.threads.*} and {@code hikaricp.connections.*}.
+ * Virtual threads themselves are switched on by {@link VirtualThreadsEnvironmentPostProcessor}.
+ */
+@AutoConfiguration
+public class RuntimeAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HikariDataSource.class)
+    static class PoolConfiguration {
+        @Bean
+        static HikariPoolSizer hikariPoolSizer(Environment env) {
+            // bound by hand: a post-processor is created before @ConfigurationProperties binding is available
+            DbPoolProperties props = Binder.get(env).bind(DbPoolProperties.PREFIX, DbPoolProperties.class).orElseGet(DbPoolProperties::new);
+            return new HikariPoolSizer(props, env.getProperty("spring.application.name"));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    static class VirtualThreadMetricsConfiguration {
+        @Bean(destroyMethod = "close")
+        @ConditionalOnMissingBean
+        VirtualThreadMetrics virtualThreadMetrics() {
+            return new VirtualThreadMetrics();
+        }
+    }
+}
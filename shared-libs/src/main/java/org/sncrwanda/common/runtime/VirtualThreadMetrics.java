@@ -0,0 +1,47 @@
+package org.sncrwanda.common.runtime;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread health from the JDK's own flight-recorder events: {@code jvm.threads.virtual.pinned} times every
+ * stretch of at least {@value #PINNED_THRESHOLD_MILLIS} ms a virtual thread blocked while pinned to its carrier (a
+ * {@code synchronized} block around I/O, typically), and {@code jvm.threads.virtual.submit.failed} counts virtual
+ * threads that could not be started or unparked. Same names as Micrometer 1.14's binder, which can replace this one
+ * once Boot manages that version.
+ */
+public class VirtualThreadMetrics implements MeterBinder, AutoCloseable {
+    static final String PINNED = "jdk.VirtualThreadPinned";
+    static final String SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+    static final long PINNED_THRESHOLD_MILLIS = 20;
+
+    private final RecordingStream events = new RecordingStream();
+
+    public VirtualThreadMetrics() {
+        events.enable(PINNED).withThreshold(Duration.ofMillis(PINNED_THRESHOLD_MILLIS));
+        events.enable(SUBMIT_FAILED);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("The duration while the virtual thread was pinned without releasing its platform carrier thread")
+                .register(registry);
+        Counter submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("The number of events when starting or unparking a virtual thread failed")
+                .register(registry);
+        events.onEvent(PINNED, e -> pinned.record(e.getDuration()));
+        events.onEvent(SUBMIT_FAILED, e -> submitFailed.increment());
+        events.startAsync();
+    }
+
+    @Override
+    public void close() {
+        events.close();
+    }
+}
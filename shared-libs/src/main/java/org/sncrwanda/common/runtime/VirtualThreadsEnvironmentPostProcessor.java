@@ -0,0 +1,23 @@
+package org.sncrwanda.common.runtime;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Makes virtual threads the default for every service: Tomcat request handling, the application task executor and
+ * scheduler. Added as the lowest-precedence property source, so {@code spring.threads.virtual.enabled=false} in a
+ * service's own configuration still wins.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+    static final String SOURCE = "sncrwandaRuntimeDefaults";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.getPropertySources().contains(SOURCE)) return;
+        environment.getPropertySources().addLast(new MapPropertySource(SOURCE, Map.of("spring.threads.virtual.enabled", "true")));
+    }
+}
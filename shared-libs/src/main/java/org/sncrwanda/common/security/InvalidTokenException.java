@@ -0,0 +1,7 @@
+package org.sncrwanda.common.security;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
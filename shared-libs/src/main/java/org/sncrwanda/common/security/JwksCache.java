@@ -0,0 +1,68 @@
+package org.sncrwanda.common.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of auth-service's JWKS. It is refreshed on a background thread, so verifying a token never waits
+ * on the network. A token with an unknown {@code kid} schedules an early, rate-limited refresh and is rejected.
+ */
+public class JwksCache implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JwksCache.class);
+    private static final int CONNECT_TIMEOUT_MS = 2_000;
+    private static final int READ_TIMEOUT_MS = 2_000;
+    private static final int SIZE_LIMIT = 64 * 1024;
+
+    private final URI jwksUri;
+    private final Duration minRefreshInterval;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong lastRefresh = new AtomicLong();
+    private volatile JWKSet keys = new JWKSet();
+
+    public JwksCache(URI jwksUri, Duration refreshInterval, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.minRefreshInterval = minRefreshInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("jwks-refresh").daemon().factory());
+        long every = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, every, TimeUnit.MILLISECONDS);
+    }
+
+    /** The cached key for {@code kid}, or null (which also requests an early refresh). */
+    public JWK key(String kid) {
+        JWK key = kid == null ? null : keys.getKeyByKeyId(kid);
+        if (key == null) requestRefresh();
+        return key;
+    }
+
+    void requestRefresh() {
+        long now = System.currentTimeMillis();
+        long last = lastRefresh.get();
+        if (now - last >= minRefreshInterval.toMillis() && lastRefresh.compareAndSet(last, now)) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    void refresh() {
+        try {
+            keys = JWKSet.load(jwksUri.toURL(), CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS, SIZE_LIMIT);
+            lastRefresh.set(System.currentTimeMillis());
+        } catch (Exception e) {
+            // keep serving the previous keys; tokens signed with them still verify
+            log.warn("Could not refresh JWKS from {}: {}", jwksUri, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package org.sncrwanda.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.sncrwanda.common.api.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Requires a valid bearer token on every path except the configured public ones. The verified claims are
+ * exposed as the {@link #ATTRIBUTE} request attribute.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    public static final String ATTRIBUTE = VerifiedToken.class.getName();
+    private static final String BEARER = "Bearer ";
+
+    private final JwtVerifier verifier;
+    private final List<String> publicPaths;
+    private final ObjectMapper mapper;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public JwtAuthenticationFilter(JwtVerifier verifier, List<String> publicPaths, ObjectMapper mapper) {
+        this.verifier = verifier;
+        this.publicPaths = List.copyOf(publicPaths);
+        this.mapper = mapper;
+    }
+
+    public static VerifiedToken current(HttpServletRequest req) {
+        return (VerifiedToken) req.getAttribute(ATTRIBUTE);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        if ("OPTIONS".equals(req.getMethod())) return true;
+        String path = req.getRequestURI();
+        for (String p : publicPaths) if (matcher.match(p, path)) return true;
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain) throws ServletException, IOException {
+        String header = req.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            reject(req, res, "Missing bearer token");
+            return;
+        }
+        try {
+            req.setAttribute(ATTRIBUTE, verifier.verify(header.substring(BEARER.length()).trim()));
+        } catch (InvalidTokenException e) {
+            reject(req, res, e.getMessage());
+            return;
+        }
+        chain.doFilter(req, res);
+    }
+
+    private void reject(HttpServletRequest req, HttpServletResponse res, String message) throws IOException {
+        res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        res.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(res.getOutputStream(),
+                new ErrorResponse(Instant.now(), MDC.get("traceId"), req.getRequestURI(), "UNAUTHORIZED", message, null));
+    }
+}
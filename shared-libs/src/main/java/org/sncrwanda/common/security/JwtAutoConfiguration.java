@@ -0,0 +1,47 @@
+package org.sncrwanda.common.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.net.URI;
+
+/**
+ * Enabled with {@code sncrwanda.security.jwt.enabled=true}: verifies bearer tokens locally against the cached
+ * auth-service JWKS, so no request waits on auth-service.
+ */
+@AutoConfiguration(after = JacksonAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(OncePerRequestFilter.class)
+@ConditionalOnProperty(prefix = "sncrwanda.security.jwt", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtAutoConfiguration {
+    /** Runs after request tracing and before tenant resolution, which reads the verified token. */
+    public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+    @Bean
+    public JwksCache jwksCache(JwtProperties props) {
+        if (props.getJwksUri() == null) throw new IllegalStateException("sncrwanda.security.jwt.jwks-uri must be set");
+        return new JwksCache(URI.create(props.getJwksUri()), props.getRefreshInterval(), props.getMinRefreshInterval());
+    }
+
+    @Bean
+    public JwtVerifier jwtVerifier(JwksCache keys, JwtProperties props) {
+        return new JwtVerifier(keys, props.getIssuer(), props.getClockSkew());
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilter(JwtVerifier verifier, JwtProperties props, ObjectMapper mapper) {
+        var registration = new FilterRegistrationBean<>(new JwtAuthenticationFilter(verifier, props.getPublicPaths(), mapper));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
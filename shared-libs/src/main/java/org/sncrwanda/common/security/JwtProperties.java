@@ -0,0 +1,28 @@
+package org.sncrwanda.common.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties("sncrwanda.security.jwt")
+@Getter
+@Setter
+public class JwtProperties {
+    private boolean enabled;
+    /** auth-service key set, e.g. {@code http://auth-service:8081/auth/.well-known/jwks.json}. */
+    private String jwksUri;
+    /** Expected {@code iss}; not checked when empty. */
+    private String issuer;
+    /** How often the key set is re-fetched in the background. */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    /** Lower bound between refreshes triggered by an unknown {@code kid}. */
+    private Duration minRefreshInterval = Duration.ofSeconds(30);
+    private Duration clockSkew = Duration.ofSeconds(30);
+    /** Ant-style paths served without a token; the Prometheus scrape endpoint should only be reachable internally. */
+    private List<String> publicPaths = new ArrayList<>(List.of(
+            "/actuator/health/**", "/actuator/info", "/actuator/prometheus", "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**"));
+}
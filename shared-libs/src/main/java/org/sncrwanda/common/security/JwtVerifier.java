@@ -0,0 +1,61 @@
+package org.sncrwanda.common.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Verifies RS256 access tokens issued by auth-service against the locally cached key set. {@code exp}, {@code nbf}
+ * and {@code iat} are all checked with the same clock skew allowance.
+ */
+public class JwtVerifier {
+    public static final String ORG_CLAIM = "org";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String EMAIL_CLAIM = "email";
+
+    private final JwksCache keys;
+    private final String issuer;
+    private final Duration clockSkew;
+
+    public JwtVerifier(JwksCache keys, String issuer, Duration clockSkew) {
+        this.keys = keys;
+        this.issuer = issuer;
+        this.clockSkew = clockSkew;
+    }
+
+    public VerifiedToken verify(String token) {
+        try {
+            SignedJWT jwt = SignedJWT.parse(token);
+            if (!JWSAlgorithm.RS256.equals(jwt.getHeader().getAlgorithm())) throw new InvalidTokenException("Unsupported algorithm");
+            JWK key = keys.key(jwt.getHeader().getKeyID());
+            if (key == null) throw new InvalidTokenException("Unknown signing key");
+            if (!jwt.verify(new RSASSAVerifier(key.toRSAKey()))) throw new InvalidTokenException("Bad signature");
+            JWTClaimsSet claims = jwt.getJWTClaimsSet();
+            Instant now = Instant.now();
+            Date exp = claims.getExpirationTime();
+            if (exp == null || exp.toInstant().plus(clockSkew).isBefore(now)) throw new InvalidTokenException("Token expired");
+            // the same tolerance the other way, for issuers whose clock runs ahead
+            Date nbf = claims.getNotBeforeTime();
+            if (nbf != null && nbf.toInstant().minus(clockSkew).isAfter(now)) throw new InvalidTokenException("Token not yet valid");
+            Date iat = claims.getIssueTime();
+            if (iat != null && iat.toInstant().minus(clockSkew).isAfter(now)) throw new InvalidTokenException("Token issued in the future");
+            if (issuer != null && !issuer.isBlank() && !issuer.equals(claims.getIssuer())) throw new InvalidTokenException("Wrong issuer");
+            String org = claims.getStringClaim(ORG_CLAIM);
+            List<String> roles = claims.getStringListClaim(ROLES_CLAIM);
+            return new VerifiedToken(claims.getSubject(), claims.getStringClaim(EMAIL_CLAIM),
+                    org == null ? null : UUID.fromString(org), roles == null ? List.of() : roles, exp.toInstant());
+        } catch (ParseException | JOSEException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+}
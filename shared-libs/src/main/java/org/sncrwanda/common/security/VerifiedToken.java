@@ -0,0 +1,17 @@
+package org.sncrwanda.common.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims of an access token whose signature and lifetime were checked.
+ */
+public record VerifiedToken(
+        String subject,
+        String email,
+        UUID orgId,
+        List<String> roles,
+        Instant expiresAt
+) {
+}
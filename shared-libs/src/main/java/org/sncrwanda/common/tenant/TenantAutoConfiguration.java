@@ -0,0 +1,47 @@
+package org.sncrwanda.common.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.sncrwanda.common.security.JwtAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Enabled with {@code sncrwanda.tenant.enabled=true}: resolves the request's org into {@link TenantContext} and,
+ * where Hibernate is present, scopes every {@code @TenantId} entity to it.
+ */
+@AutoConfiguration(before = HibernateJpaAutoConfiguration.class, after = JacksonAutoConfiguration.class)
+@ConditionalOnProperty(prefix = "sncrwanda.tenant", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenantAutoConfiguration {
+    public static final int FILTER_ORDER = JwtAutoConfiguration.FILTER_ORDER + 10;
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(OncePerRequestFilter.class)
+    public FilterRegistrationBean<TenantFilter> tenantFilter(TenantProperties props, ObjectMapper mapper, Environment env) {
+        boolean tokensChecked = env.getProperty("sncrwanda.security.jwt.enabled", Boolean.class, false);
+        var registration = new FilterRegistrationBean<>(new TenantFilter(props, mapper, tokensChecked));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(CurrentTenantIdentifierResolver.class)
+    static class HibernateTenantConfiguration {
+        @Bean
+        public TenantIdentifierResolver tenantIdentifierResolver() {
+            return new TenantIdentifierResolver();
+        }
+    }
+}
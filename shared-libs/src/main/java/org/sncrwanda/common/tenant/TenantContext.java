@@ -0,0 +1,70 @@
+package org.sncrwanda.common.tenant;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * The org the current thread works for. Request threads get it from {@link TenantFilter}; background work
+ * must bind it explicitly with {@link #callAs}. With no org bound, Hibernate sees no tenant's rows; work that
+ * really spans orgs opts in with {@link #runAsRoot} and sees all of them.
+ */
+public final class TenantContext {
+    public static final String HEADER = "X-Org-Id";
+    private static final ThreadLocal<UUID> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static UUID current() {
+        return CURRENT.get();
+    }
+
+    public static UUID require() {
+        UUID org = CURRENT.get();
+        if (org == null) throw new IllegalStateException("No tenant bound to the current thread");
+        return org;
+    }
+
+    public static <T> T callAs(UUID orgId, Callable<T> work) throws Exception {
+        UUID previous = CURRENT.get();
+        CURRENT.set(orgId);
+        try {
+            return work.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runAs(UUID orgId, Runnable work) {
+        UUID previous = CURRENT.get();
+        CURRENT.set(orgId);
+        try {
+            work.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Runs {@code work} as the root tenant, unfiltered across every org. */
+    public static <T> T callAsRoot(Callable<T> work) throws Exception {
+        return callAs(TenantIdentifierResolver.ROOT, work);
+    }
+
+    /** Runs {@code work} as the root tenant, unfiltered across every org. */
+    public static void runAsRoot(Runnable work) {
+        runAs(TenantIdentifierResolver.ROOT, work);
+    }
+
+    static void bind(UUID orgId) {
+        CURRENT.set(orgId);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    private static void restore(UUID previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+}
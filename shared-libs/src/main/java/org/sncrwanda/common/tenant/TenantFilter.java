@@ -0,0 +1,79 @@
+package org.sncrwanda.common.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.sncrwanda.common.api.ErrorResponse;
+import org.sncrwanda.common.security.JwtAuthenticationFilter;
+import org.sncrwanda.common.security.VerifiedToken;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Binds the request's org to {@link TenantContext}: the verified token's {@code org} claim first, then the
+ * {@code X-Org-Id} header, then the configured default. A header that contradicts the token is refused. When tokens
+ * are checked the default is never used: a request that names no org is refused rather than run as a real tenant.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+    private final TenantProperties props;
+    private final ObjectMapper mapper;
+    private final boolean tokensChecked;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public TenantFilter(TenantProperties props, ObjectMapper mapper, boolean tokensChecked) {
+        this.props = props;
+        this.mapper = mapper;
+        this.tokensChecked = tokensChecked;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        String path = req.getRequestURI();
+        for (String p : props.getExcludePaths()) if (matcher.match(p, path)) return true;
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain) throws ServletException, IOException {
+        VerifiedToken token = JwtAuthenticationFilter.current(req);
+        UUID fromToken = token == null ? null : token.orgId();
+        UUID fromHeader;
+        try {
+            String header = req.getHeader(TenantContext.HEADER);
+            fromHeader = header == null || header.isBlank() ? null : UUID.fromString(header.trim());
+        } catch (IllegalArgumentException e) {
+            reject(req, res, HttpServletResponse.SC_BAD_REQUEST, "INVALID_TENANT", "X-Org-Id is not a UUID");
+            return;
+        }
+        if (fromToken != null && fromHeader != null && !fromToken.equals(fromHeader)) {
+            reject(req, res, HttpServletResponse.SC_FORBIDDEN, "TENANT_MISMATCH", "X-Org-Id does not match the token's org");
+            return;
+        }
+        UUID org = fromToken != null ? fromToken : fromHeader != null ? fromHeader : tokensChecked ? null : props.getDefaultOrg();
+        if (org == null) {
+            reject(req, res, tokensChecked ? HttpServletResponse.SC_FORBIDDEN : HttpServletResponse.SC_BAD_REQUEST,
+                    "MISSING_TENANT", "No org in token or X-Org-Id header");
+            return;
+        }
+        TenantContext.bind(org);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void reject(HttpServletRequest req, HttpServletResponse res, int status, String code, String message) throws IOException {
+        res.setStatus(status);
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(res.getOutputStream(), new ErrorResponse(Instant.now(), MDC.get("traceId"), req.getRequestURI(), code, message, null));
+    }
+}
@@ -0,0 +1,42 @@
+package org.sncrwanda.common.tenant;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Feeds {@link TenantContext} to Hibernate so every {@code @TenantId} entity is filtered and stamped with the
+ * current org. Sessions opened with no org bound get {@link #NONE}, which no row carries, so they read nothing
+ * and {@link UnboundTenantGuard} refuses their inserts. Only work bound with {@link TenantContext#runAsRoot}
+ * gets the root tenant, which Hibernate leaves unfiltered; it must set {@code orgId} itself. The tenant is
+ * fixed when the session opens.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<UUID>, HibernatePropertiesCustomizer {
+    public static final UUID ROOT = new UUID(0L, 0L);
+    public static final UUID NONE = new UUID(-1L, -1L);
+
+    @Override
+    public UUID resolveCurrentTenantIdentifier() {
+        UUID org = TenantContext.current();
+        return org != null ? org : NONE;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(UUID tenantId) {
+        return ROOT.equals(tenantId);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+        hibernateProperties.put(AvailableSettings.INTERCEPTOR, new UnboundTenantGuard());
+    }
+}
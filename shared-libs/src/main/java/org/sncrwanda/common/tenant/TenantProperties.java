@@ -0,0 +1,23 @@
+package org.sncrwanda.common.tenant;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@ConfigurationProperties("sncrwanda.tenant")
+@Getter
+@Setter
+public class TenantProperties {
+    private boolean enabled;
+    /**
+     * Org used when neither the token nor the {@code X-Org-Id} header names one, for local runs without token checks;
+     * ignored when {@code sncrwanda.security.jwt.enabled} is set. Requests are rejected when unset.
+     */
+    private UUID defaultOrg;
+    /** Ant-style paths that run without a tenant, i.e. across all orgs (health checks, internal event feeds). */
+    private List<String> excludePaths = new ArrayList<>(List.of("/actuator/**", "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**"));
+}
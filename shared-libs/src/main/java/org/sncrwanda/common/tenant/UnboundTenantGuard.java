@@ -0,0 +1,34 @@
+package org.sncrwanda.common.tenant;
+
+import org.hibernate.Interceptor;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Field;
+
+/**
+ * Refuses to insert a {@code @TenantId} entity while no org is bound, instead of letting Hibernate stamp it
+ * with {@link TenantIdentifierResolver#NONE} where nobody would ever see it again.
+ */
+class UnboundTenantGuard implements Interceptor {
+    private static final ClassValue<Boolean> SCOPED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (f.isAnnotationPresent(TenantId.class)) return true;
+                }
+            }
+            return false;
+        }
+    };
+
+    @Override
+    public boolean onSave(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        if (TenantContext.current() == null && SCOPED.get(entity.getClass())) {
+            throw new IllegalStateException("No tenant bound to the current thread; cannot insert "
+                    + entity.getClass().getSimpleName());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+create table if not exists outbox_events (
+    seq            bigint generated by default as identity primary key,
+    id             uuid         not null,
+    aggregate_type varchar(100) not null,
+    aggregate_id   uuid,
+    event_type     varchar(100) not null,
+    org_id         uuid,
+    payload        text         not null,
+    created_at     timestamp with time zone not null,
+    dispatched_at  timestamp with time zone,
+    tx_id          bigint
+);
+create index if not exists outbox_events_pending_idx on outbox_events (dispatched_at, seq);
+create table if not exists outbox_deliveries (
+    subscriber    varchar(500) not null,
+    seq           bigint       not null,
+    -- set while a relay publishes the row outside any transaction; an expired claim is taken over
+    claimed_until timestamp with time zone,
+    primary key (subscriber, seq)
+);
@@ -1,11 +1,13 @@
 package org.sncrwanda.student.domain;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*; import lombok.Getter; import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 import java.util.UUID;
-@Entity @Table(name="guardians") @Getter @Setter
+@Entity @Table(name="guardians", indexes=@Index(name="guardians_org_name_idx", columnList="org_id, full_name")) @Getter @Setter
 public class Guardian {
   @Id @GeneratedValue private UUID id;
   @Column(nullable=false) private String fullName;
   @Column(nullable=false) private String phone;
   private String email; private String address;
-  @Column(nullable=false) private UUID orgId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  @TenantId @Column(nullable=false, updatable=false) @JsonProperty(access=JsonProperty.Access.READ_ONLY) private UUID orgId;
 }
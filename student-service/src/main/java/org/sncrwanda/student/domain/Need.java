@@ -1,2 +1,16 @@
 package org.sncrwanda.student.domain;
-public enum Need { PHYSICAL, HEARING, SOCIAL_COMMUNICATION_AUTISM, MENTAL_EMOTIONAL_HEALTH, HEALTH_CONDITION, MOBILITY, VISUAL, SPEECH_LANGUAGE, LEARNING, OTHER }
+import java.util.Collection; import java.util.EnumSet; import java.util.Set;
+/** Each constant's ordinal is its bit in {@code students.needs_mask}: only ever append new values. */
+public enum Need { PHYSICAL, HEARING, SOCIAL_COMMUNICATION_AUTISM, MENTAL_EMOTIONAL_HEALTH, HEALTH_CONDITION, MOBILITY, VISUAL, SPEECH_LANGUAGE, LEARNING, OTHER;
+  public int bit(){ return 1 << ordinal(); }
+  public static int mask(Collection<Need> needs){
+    int m = 0;
+    if (needs != null) for (Need n : needs) m |= n.bit();
+    return m;
+  }
+  public static Set<Need> fromMask(int mask){
+    Set<Need> out = EnumSet.noneOf(Need.class);
+    for (Need n : values()) if ((mask & n.bit()) != 0) out.add(n);
+    return out;
+  }
+}
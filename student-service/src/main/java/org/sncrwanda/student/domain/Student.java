@@ -1,7 +1,13 @@
 package org.sncrwanda.student.domain;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*; import lombok.Getter; import lombok.Setter;
-import java.time.LocalDate; import java.util.HashSet; import java.util.Set; import java.util.UUID;
-@Entity @Table(name="students") @Getter @Setter
+import org.hibernate.annotations.TenantId;
+import java.time.LocalDate; import java.util.Set; import java.util.UUID;
+@Entity @Table(name="students", indexes={
+  @Index(name="students_org_name_idx", columnList="org_id, child_name, id"),
+  @Index(name="students_org_guardian_idx", columnList="org_id, guardian_id")
+}) @Getter @Setter
 public class Student {
   @Id @GeneratedValue private UUID id;
   @ManyToOne(optional=false, fetch=FetchType.LAZY) private Guardian guardian;
@@ -9,8 +15,11 @@ public class Student {
   @Column(nullable=false) private LocalDate childDob;
   @Column(nullable=false) private String address;
   private String hobbies;
-  @ElementCollection(fetch=FetchType.EAGER) @Enumerated(EnumType.STRING)
-  private Set<Need> needs = new HashSet<>();
+  /** Bitset of {@link Need}s, kept in the row so needs filtering is a SQL predicate rather than a join. */
+  @JsonIgnore @Column(nullable=false, columnDefinition="integer default 0") private int needsMask;
   private String needsOtherText;
-  @Column(nullable=false) private UUID orgId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  @TenantId @Column(nullable=false, updatable=false) @JsonProperty(access=JsonProperty.Access.READ_ONLY) private UUID orgId;
+
+  public Set<Need> getNeeds(){ return Need.fromMask(needsMask); }
+  public void setNeeds(Set<Need> needs){ this.needsMask = Need.mask(needs); }
 }
@@ -0,0 +1,13 @@
+package org.sncrwanda.student.domain;
+import java.time.LocalDate; import java.util.Set; import java.util.UUID;
+/** Read model for listings: the student row plus a guardian summary, loaded by one joined query. */
+public record StudentView(UUID id, String childName, LocalDate childDob, String address, String hobbies, Set<Need> needs,
+                          String needsOtherText, UUID orgId, GuardianSummary guardian) {
+  public record GuardianSummary(UUID id, String fullName, String phone) {}
+  /** Flat form used by the JPQL constructor expression. */
+  public StudentView(UUID id, String childName, LocalDate childDob, String address, String hobbies, int needsMask,
+                     String needsOtherText, UUID orgId, UUID guardianId, String guardianName, String guardianPhone){
+    this(id, childName, childDob, address, hobbies, Need.fromMask(needsMask), needsOtherText, orgId,
+      new GuardianSummary(guardianId, guardianName, guardianPhone));
+  }
+}
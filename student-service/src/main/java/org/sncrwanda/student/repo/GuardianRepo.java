@@ -1,5 +1,11 @@
 package org.sncrwanda.student.repo;
 import org.sncrwanda.student.domain.Guardian;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.UUID;
-public interface GuardianRepo extends JpaRepository<Guardian, UUID> {}
+public interface GuardianRepo extends JpaRepository<Guardian, UUID> {
+  /** A query rather than {@code findById}, so the tenant filter applies. */
+  @Query("select count(g) > 0 from Guardian g where g.id = :id")
+  boolean existsInTenant(@Param("id") UUID id);
+}
@@ -1,5 +1,22 @@
 package org.sncrwanda.student.repo;
 import org.sncrwanda.student.domain.Student;
+import org.sncrwanda.student.domain.StudentView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.UUID;
-public interface StudentRepo extends JpaRepository<Student, UUID> {}
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List; import java.util.UUID;
+public interface StudentRepo extends JpaRepository<Student, UUID> {
+  String VIEW = "select new org.sncrwanda.student.domain.StudentView(s.id, s.childName, s.childDob, s.address, s.hobbies, s.needsMask,"
+    + " s.needsOtherText, s.orgId, g.id, g.fullName, g.phone) from Student s join s.guardian g";
+  /** {@code needMask} selects students having all of those needs; 0 matches everyone. The org comes from the tenant filter. */
+  String SEARCH = " where (:guardianId is null or g.id = :guardianId) and bitand(s.needsMask, :needMask) = :needMask";
+
+  @Query(VIEW + " order by s.childName, s.id")
+  List<StudentView> findAllViews();
+
+  @Query(value=VIEW + SEARCH + " order by s.childName, s.id",
+         countQuery="select count(s) from Student s join s.guardian g" + SEARCH)
+  Page<StudentView> search(@Param("guardianId") UUID guardianId, @Param("needMask") int needMask, Pageable page);
+}
@@ -0,0 +1,32 @@
+package org.sncrwanda.student.service;
+import org.sncrwanda.common.outbox.OutboxWriter;
+import org.sncrwanda.student.domain.Guardian;
+import org.sncrwanda.student.domain.Student;
+import org.sncrwanda.student.repo.GuardianRepo;
+import org.sncrwanda.student.repo.StudentRepo;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.UUID;
+@Service
+public class StudentService {
+  /** Event payload; the entity itself would drag the lazy guardian proxy into serialization. */
+  public record StudentCreated(UUID id, UUID orgId, UUID guardianId, String childName) {}
+  private final StudentRepo srepo; private final GuardianRepo grepo; private final OutboxWriter outbox;
+  public StudentService(StudentRepo srepo, GuardianRepo grepo, OutboxWriter outbox){this.srepo=srepo; this.grepo=grepo; this.outbox=outbox;}
+  @Transactional
+  public Guardian createGuardian(Guardian g){
+    Guardian saved = grepo.save(g);
+    outbox.append("Guardian", saved.getId(), "GuardianCreated", saved.getOrgId(), saved);
+    return saved;
+  }
+  @Transactional
+  public Student create(Student s){
+    if (s.getGuardian() == null || s.getGuardian().getId() == null || !grepo.existsInTenant(s.getGuardian().getId()))
+      throw new IllegalArgumentException("Unknown guardian");
+    Student saved = srepo.save(s);
+    UUID guardianId = saved.getGuardian() == null ? null : saved.getGuardian().getId();
+    outbox.append("Student", saved.getId(), "StudentCreated", saved.getOrgId(),
+      new StudentCreated(saved.getId(), saved.getOrgId(), guardianId, saved.getChildName()));
+    return saved;
+  }
+}
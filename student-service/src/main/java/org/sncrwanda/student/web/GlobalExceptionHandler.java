@@ -17,6 +17,11 @@ public class GlobalExceptionHandler {
       .collect(Collectors.toList());
     return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"VALIDATION_ERROR","Invalid fields",details);
   }
+  @ExceptionHandler(IllegalArgumentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleBadRequest(IllegalArgumentException ex, HttpServletRequest req) {
+    return new ErrorResponse(Instant.now(), traceId(), req.getRequestURI(),"BAD_REQUEST",ex.getMessage(),null);
+  }
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ErrorResponse handleAny(Exception ex, HttpServletRequest req) {
@@ -1,15 +1,23 @@
 package org.sncrwanda.student.web;
 import org.sncrwanda.student.domain.*;
 import org.sncrwanda.student.repo.*;
+import org.sncrwanda.student.service.StudentService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import java.util.List; import java.util.Set; import java.util.UUID;
+record StudentSearchPage(List<StudentView> items, int page, int size, long total) {}
 @RestController @RequestMapping("/students")
 public class StudentController {
-  private final StudentRepo srepo; private final GuardianRepo grepo;
-  public StudentController(StudentRepo srepo, GuardianRepo grepo){this.srepo=srepo; this.grepo=grepo;}
-  @PostMapping("/guardians") public ResponseEntity<Guardian> createGuardian(@RequestBody Guardian g){ return ResponseEntity.ok(grepo.save(g)); }
+  private final StudentRepo srepo; private final GuardianRepo grepo; private final StudentService service;
+  public StudentController(StudentRepo srepo, GuardianRepo grepo, StudentService service){this.srepo=srepo; this.grepo=grepo; this.service=service;}
+  @PostMapping("/guardians") public ResponseEntity<Guardian> createGuardian(@RequestBody Guardian g){ return ResponseEntity.ok(service.createGuardian(g)); }
   @GetMapping("/guardians") public List<Guardian> listGuardians(){ return grepo.findAll(); }
-  @PostMapping public ResponseEntity<Student> create(@RequestBody Student s){ return ResponseEntity.ok(srepo.save(s)); }
-  @GetMapping public List<Student> list(){ return srepo.findAll(); }
+  @PostMapping public ResponseEntity<Student> create(@RequestBody Student s){ return ResponseEntity.ok(service.create(s)); }
+  @GetMapping public List<StudentView> list(){ return srepo.findAllViews(); }
+  @GetMapping("/search") public StudentSearchPage search(@RequestParam(required=false) UUID guardianId, @RequestParam(required=false) Set<Need> need,
+                                                         @RequestParam(defaultValue="0") int page, @RequestParam(defaultValue="50") int size){
+    var result = srepo.search(guardianId, Need.mask(need), PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 200))));
+    return new StudentSearchPage(result.getContent(), result.getNumber(), result.getSize(), result.getTotalElements());
+  }
 }
@@ -0,0 +1,29 @@
+-- Students schema as Hibernate created it before migrations existed; such databases are baselined at this version.
+
+create table guardians (
+    id        uuid         not null,
+    full_name varchar(255) not null,
+    phone     varchar(255) not null,
+    email     varchar(255),
+    address   varchar(255),
+    org_id    uuid         not null,
+    primary key (id)
+);
+
+create table students (
+    id               uuid         not null,
+    guardian_id      uuid         not null references guardians (id),
+    child_name       varchar(255) not null,
+    child_dob        date         not null,
+    address          varchar(255) not null,
+    hobbies          varchar(255),
+    needs_other_text varchar(255),
+    org_id           uuid         not null,
+    primary key (id)
+);
+
+create table student_needs (
+    student_id uuid not null references students (id),
+    needs      varchar(255) check (needs in ('PHYSICAL', 'HEARING', 'SOCIAL_COMMUNICATION_AUTISM', 'MENTAL_EMOTIONAL_HEALTH',
+                                             'HEALTH_CONDITION', 'MOBILITY', 'VISUAL', 'SPEECH_LANGUAGE', 'LEARNING', 'OTHER'))
+);
@@ -0,0 +1,13 @@
+-- The transactional outbox.
+
+create table outbox_events (
+    seq            bigint generated by default as identity primary key,
+    id             uuid         not null,
+    aggregate_type varchar(100) not null,
+    aggregate_id   uuid,
+    event_type     varchar(100) not null,
+    org_id         uuid,
+    payload        text         not null,
+    created_at     timestamp with time zone not null,
+    published_at   timestamp with time zone
+);
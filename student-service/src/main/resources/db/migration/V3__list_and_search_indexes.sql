@@ -0,0 +1,6 @@
+-- listings and searches are ordered by (child_name, id) within one org and may narrow to one guardian
+create index if not exists students_org_name_idx on students (org_id, child_name, id);
+create index if not exists students_org_guardian_idx on students (org_id, guardian_id);
+create index if not exists guardians_org_name_idx on guardians (org_id, full_name);
+
+create index if not exists outbox_events_pending_idx on outbox_events (published_at, seq);
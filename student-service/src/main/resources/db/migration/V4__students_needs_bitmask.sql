@@ -0,0 +1,31 @@
+-- Student.needs moves from the student_needs collection table to students.needs_mask (bit = Need ordinal), so
+-- listings need no per-student query and needs filters run in SQL. Bit positions must match the Need enum order.
+-- Databases where the former deploy/migrations script already ran have the column and no student_needs table.
+
+alter table students add column if not exists needs_mask integer default 0 not null;
+
+do $$
+begin
+  if to_regclass('student_needs') is not null then
+    update students s
+       set needs_mask = m.mask
+      from (select student_id,
+                   sum(distinct case needs
+                         when 'PHYSICAL'                    then 1
+                         when 'HEARING'                     then 2
+                         when 'SOCIAL_COMMUNICATION_AUTISM' then 4
+                         when 'MENTAL_EMOTIONAL_HEALTH'     then 8
+                         when 'HEALTH_CONDITION'            then 16
+                         when 'MOBILITY'                    then 32
+                         when 'VISUAL'                      then 64
+                         when 'SPEECH_LANGUAGE'             then 128
+                         when 'LEARNING'                    then 256
+                         when 'OTHER'                       then 512
+                         else 0 end)::integer as mask
+              from student_needs
+             group by student_id) m
+     where s.id = m.student_id;
+  end if;
+end $$;
+
+drop table if exists student_needs;